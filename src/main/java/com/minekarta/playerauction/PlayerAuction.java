@@ -1,13 +1,31 @@
 package com.minekarta.playerauction;
 
 import com.minekarta.playerauction.auction.AuctionService;
+import com.minekarta.playerauction.auction.SettlementRecovery;
 import com.minekarta.playerauction.commands.AuctionCommand;
 import com.minekarta.playerauction.commands.AuctionTabCompleter;
+import com.minekarta.playerauction.common.ItemCodec;
+import com.minekarta.playerauction.common.ItemCodecCache;
+import com.minekarta.playerauction.common.LifecycleManager;
+import com.minekarta.playerauction.common.SerializedItem;
 import com.minekarta.playerauction.config.ConfigManager;
 import com.minekarta.playerauction.economy.EconomyRouter;
+import com.minekarta.playerauction.gui.GuiListener;
+import com.minekarta.playerauction.gui.ListingRenderCache;
+import com.minekarta.playerauction.gui.ViewerRegistry;
+import com.minekarta.playerauction.mailbox.MailboxService;
 import com.minekarta.playerauction.storage.AuctionStorage;
+import com.minekarta.playerauction.storage.MailboxStorage;
+import com.minekarta.playerauction.storage.PlayerNameStorage;
+import com.minekarta.playerauction.storage.SettlementJournal;
 import com.minekarta.playerauction.storage.StorageFactory;
+import com.minekarta.playerauction.storage.sqlite.SQLiteConnectionManager;
 import com.minekarta.playerauction.tasks.AuctionExpirer;
+import com.minekarta.playerauction.tasks.ExpiryTask;
+import com.minekarta.playerauction.tasks.ItemReencodeTask;
+import com.minekarta.playerauction.tasks.MailboxPurgeTask;
+import com.minekarta.playerauction.tasks.MetadataBackfillTask;
+import com.minekarta.playerauction.tasks.NotificationTask;
 import com.minekarta.playerauction.util.PlayerNameCache;
 import com.minekarta.playerauction.notification.NotificationManager;
 import com.minekarta.playerauction.transaction.TransactionLogger;
@@ -15,6 +33,8 @@ import com.minekarta.playerauction.storage.TransactionStorage;
 import com.minekarta.playerauction.players.PlayerSettingsService;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
@@ -22,12 +42,17 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 public class PlayerAuction extends JavaPlugin {
 
     private ExecutorService asyncExecutor;
+    private SQLiteConnectionManager connectionManager;
+    private LifecycleManager lifecycleManager;
     private AuctionService auctionService;
     private EconomyRouter economyRouter;
     private ConfigManager configManager;
     private PlayerNameCache playerNameCache;
     private NotificationManager notificationManager;
     private TransactionLogger transactionLogger;
+    private MailboxService mailboxService;
+    private ListingRenderCache listingRenderCache;
+    private ViewerRegistry viewerRegistry;
     private PlayerSettingsService playerSettingsService;
 
     @Override
@@ -35,6 +60,9 @@ public class PlayerAuction extends JavaPlugin {
         // 1. Initialize Config
         configManager = new ConfigManager(this);
         configManager.loadConfigs();
+        ItemCodecCache.configure(configManager.getConfig().getLong("cache.decoded-items-kb", 16384) * 1024);
+        SerializedItem.useCodec(ItemCodec.fromConfig(configManager.getConfig().getString("database.items.codec", "AUTO")));
+        getLogger().info("Storing items with the " + SerializedItem.getCodec() + " codec.");
 
         // Initialize Services
         playerSettingsService = new PlayerSettingsService(this);
@@ -47,14 +75,29 @@ public class PlayerAuction extends JavaPlugin {
         );
 
         // 3. Initialize SQLite Database
-        AuctionStorage auctionStorage = StorageFactory.createAuctionStorage(this);
-        TransactionStorage transactionStorage = StorageFactory.createTransactionStorage(this);
+        connectionManager = StorageFactory.createConnectionManager(this, configManager);
+        try {
+            connectionManager.init();
+        } catch (SQLException e) {
+            getLogger().severe("Disabling PlayerAuction because the SQLite database could not be opened.");
+            e.printStackTrace();
+            getServer().getPluginManager().disablePlugin(this);
+            return;
+        }
+        AuctionStorage auctionStorage = StorageFactory.createAuctionStorage(this, connectionManager);
+        TransactionStorage transactionStorage = StorageFactory.createTransactionStorage(this, connectionManager);
+        SettlementJournal settlementJournal = StorageFactory.createSettlementJournal(this, connectionManager);
+        MailboxStorage mailboxStorage = StorageFactory.createMailboxStorage(this, connectionManager);
+        PlayerNameStorage playerNameStorage = StorageFactory.createPlayerNameStorage(this, connectionManager);
 
         // Run table creation async
-        asyncExecutor.submit(() -> {
+        CompletableFuture<Void> storageReady = CompletableFuture.runAsync(() -> {
             auctionStorage.init();
             transactionStorage.init();
-        });
+            settlementJournal.init();
+            mailboxStorage.init();
+            playerNameStorage.init();
+        }, asyncExecutor);
 
         // 4. Initialize Economy
         economyRouter = new EconomyRouter(this, configManager);
@@ -65,9 +108,30 @@ public class PlayerAuction extends JavaPlugin {
         }
 
         // 5. Initialize Caches & Services
-        playerNameCache = new PlayerNameCache(asyncExecutor);
-        transactionLogger = new TransactionLogger(transactionStorage);
-        auctionService = new AuctionService(this, asyncExecutor, auctionStorage, economyRouter, configManager, notificationManager, transactionLogger);
+        playerNameCache = new PlayerNameCache(asyncExecutor, playerNameStorage, configManager.getConfig().getLong("cache.player-names", 10000));
+        transactionLogger = new TransactionLogger(
+            transactionStorage,
+            getLogger(),
+            configManager.getConfig().getInt("database.transactions.queue-capacity", 4096),
+            configManager.getConfig().getInt("database.transactions.batch-size", 256),
+            configManager.getConfig().getLong("database.transactions.flush-interval-ms", 250)
+        );
+        lifecycleManager = new LifecycleManager(getLogger(), asyncExecutor, connectionManager, transactionLogger);
+        mailboxService = new MailboxService(this, mailboxStorage, economyRouter, configManager);
+        auctionService = new AuctionService(this, asyncExecutor, auctionStorage, settlementJournal, economyRouter, configManager, notificationManager, transactionLogger, mailboxService, lifecycleManager);
+        listingRenderCache = new ListingRenderCache(this, configManager.getConfig().getLong("cache.rendered-listings", 2000));
+        auctionService.addChangeListener(listingRenderCache);
+        viewerRegistry = new ViewerRegistry(this);
+        auctionService.addChangeListener(viewerRegistry);
+        SettlementRecovery settlementRecovery = new SettlementRecovery(this, auctionStorage, settlementJournal, economyRouter, transactionLogger, mailboxService, configManager);
+        // Interrupted purchases are settled first, so auctions they put back on sale are indexed
+        storageReady.thenCompose(v -> settlementRecovery.recover())
+                .exceptionally(ex -> {
+                    getLogger().severe("Settlement recovery failed; interrupted purchases stay pending until the next start.");
+                    ex.printStackTrace();
+                    return null;
+                })
+                .thenCompose(v -> auctionService.loadActiveIndex());
 
         // 6. Register Commands & Listeners
         AuctionCommand commandExecutor = new AuctionCommand(this, auctionService, configManager, playerSettingsService);
@@ -79,17 +143,46 @@ public class PlayerAuction extends JavaPlugin {
         this.getCommand("auction").setTabCompleter(tabCompleter);
         this.getCommand("auctionhouse").setExecutor(commandExecutor);
         this.getCommand("auctionhouse").setTabCompleter(tabCompleter);
+        getServer().getPluginManager().registerEvents(mailboxService, this);
+        getServer().getPluginManager().registerEvents(new GuiListener(), this);
+        getServer().getPluginManager().registerEvents(playerNameCache, this);
 
         // 7. Start Tasks
-        new AuctionExpirer(auctionService).runTaskTimerAsynchronously(this, 20 * 30, 20 * 30); // Every 30 seconds
+        new ExpiryTask(auctionService).runTaskTimerAsynchronously(this, 20, 20); // Every second
+        new NotificationTask(notificationManager).runTaskTimer(this, 1, 1); // Every tick, on the main thread
+        // Safety net for auctions the scheduler missed; expiry normally happens on time without it
+        long sweepTicks = Math.max(1, configManager.getConfig().getLong("auction.expiry-sweep-interval-seconds", 300)) * 20;
+        new AuctionExpirer(auctionService).runTaskTimerAsynchronously(this, 20 * 30, sweepTicks);
+        int reencodeBatchSize = configManager.getConfig().getInt("database.items.reencode-batch-size", 200);
+        if (reencodeBatchSize > 0) {
+            ItemReencodeTask reencodeTask = new ItemReencodeTask(this, auctionStorage, reencodeBatchSize);
+            storageReady.thenRun(() -> reencodeTask.runTaskTimerAsynchronously(this, 20 * 10, 20 * 2)); // Every 2 seconds until done
+        }
+        int backfillBatchSize = Math.max(1, configManager.getConfig().getInt("database.items.metadata-backfill-batch-size", 200));
+        MetadataBackfillTask backfillTask = new MetadataBackfillTask(this, auctionStorage, backfillBatchSize);
+        storageReady.thenRun(() -> backfillTask.runTaskTimerAsynchronously(this, 20 * 5, 20 * 2)); // Every 2 seconds until done
+        MailboxPurgeTask purgeTask = new MailboxPurgeTask(this, mailboxStorage,
+            configManager.getConfig().getInt("mailbox.retention-days", 30),
+            configManager.getConfig().getInt("mailbox.purge-batch-size", 500));
+        storageReady.thenRun(() -> purgeTask.runTaskTimerAsynchronously(this, 20 * 60, 20 * 60 * 60)); // Every hour
 
         getLogger().info("PlayerAuctions has been enabled!");
     }
 
     @Override
     public void onDisable() {
-        if (asyncExecutor != null) {
-            asyncExecutor.shutdownNow();
+        if (lifecycleManager != null) {
+            lifecycleManager.shutdown(configManager.getConfig().getLong("shutdown.drain-timeout-ms", 10000));
+            // Compensations for timed-out economy calls may still be queued
+            economyRouter.shutdown(configManager.getConfig().getLong("economy.executor.call-timeout-ms", 3000));
+        } else {
+            // Startup failed before storage was ready; there is nothing to drain
+            if (asyncExecutor != null) {
+                asyncExecutor.shutdownNow();
+            }
+            if (connectionManager != null) {
+                connectionManager.close();
+            }
         }
         getLogger().info("PlayerAuctions has been disabled!");
     }
@@ -101,6 +194,10 @@ public class PlayerAuction extends JavaPlugin {
     public PlayerNameCache getPlayerNameCache() { return playerNameCache; }
     public NotificationManager getNotificationManager() { return notificationManager; }
     public TransactionLogger getTransactionLogger() { return transactionLogger; }
+    public MailboxService getMailboxService() { return mailboxService; }
+    public ListingRenderCache getListingRenderCache() { return listingRenderCache; }
+    public ViewerRegistry getViewerRegistry() { return viewerRegistry; }
     public PlayerSettingsService getPlayerSettingsService() { return playerSettingsService; }
     public ExecutorService getAsyncExecutor() { return asyncExecutor; }
+    public SQLiteConnectionManager getConnectionManager() { return connectionManager; }
 }
@@ -0,0 +1,162 @@
+package com.minekarta.playerauction.auction;
+
+import com.minekarta.playerauction.auction.model.Auction;
+import com.minekarta.playerauction.auction.model.AuctionStatus;
+import com.minekarta.playerauction.gui.model.AuctionCategory;
+import com.minekarta.playerauction.gui.model.SortOrder;
+import com.minekarta.playerauction.storage.PageCursor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * The authoritative in-memory set of ACTIVE auctions.
+ * <p>
+ * Every auction is kept in one skip list per browsable {@link SortOrder}, both globally and inside its category bucket,
+ * so a page of any sort order is read straight from memory without touching SQLite. The index is loaded once
+ * at startup and then kept in sync by {@link AuctionService}; SQLite remains the durable store.
+ * <p>
+ * Mutations are serialized on the index; reads are lock-free and may briefly observe an auction in some views
+ * but not yet in others while it is being added or removed.
+ */
+public class ActiveAuctionIndex {
+
+    private static final Comparator<Auction> BY_ID = Comparator.comparing(a -> a.id().toString());
+
+    private static final Map<SortOrder, Comparator<Auction>> COMPARATORS = new EnumMap<>(SortOrder.class);
+
+    static {
+        COMPARATORS.put(SortOrder.TIME_LEFT, Comparator.comparingLong(Auction::endAt).thenComparing(BY_ID));
+        COMPARATORS.put(SortOrder.PRICE_ASC, Comparator.comparingDouble(Auction::price).thenComparing(BY_ID));
+        COMPARATORS.put(SortOrder.PRICE_DESC, Comparator.comparingDouble(Auction::price).reversed().thenComparing(BY_ID.reversed()));
+        COMPARATORS.put(SortOrder.NEWEST, Comparator.comparingLong(Auction::createdAt).reversed().thenComparing(BY_ID.reversed()));
+    }
+
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<AuctionCategory, Map<SortOrder, NavigableSet<Auction>>> views = new EnumMap<>(AuctionCategory.class);
+    // Auctions added or removed while the load was in flight; their snapshot rows may predate the change
+    private final Set<UUID> changedWhileLoading = new HashSet<>();
+    private volatile boolean loaded = false;
+
+    public ActiveAuctionIndex() {
+        for (AuctionCategory category : AuctionCategory.values()) {
+            Map<SortOrder, NavigableSet<Auction>> byOrder = new EnumMap<>(SortOrder.class);
+            for (SortOrder order : COMPARATORS.keySet()) {
+                byOrder.put(order, new ConcurrentSkipListSet<>(COMPARATORS.get(order)));
+            }
+            views.put(category, byOrder);
+        }
+    }
+
+    /**
+     * Adds the given active auctions and marks the index as loaded. Adds and removes made while the load was
+     * in flight are newer than the snapshot, so snapshot rows of those auctions are skipped rather than
+     * bringing back a removed auction or an outdated copy.
+     */
+    public synchronized void load(Collection<Auction> activeAuctions) {
+        for (Auction auction : activeAuctions) {
+            if (!changedWhileLoading.contains(auction.id())) {
+                index(auction);
+            }
+        }
+        changedWhileLoading.clear();
+        loaded = true;
+    }
+
+    /**
+     * @return true once {@link #load} has completed; until then callers must fall back to storage.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public synchronized void add(Auction auction) {
+        if (!loaded) {
+            changedWhileLoading.add(auction.id());
+        }
+        index(auction);
+    }
+
+    public synchronized void remove(UUID auctionId) {
+        if (!loaded) {
+            changedWhileLoading.add(auctionId);
+        }
+        unindex(auctionId);
+    }
+
+    private void index(Auction auction) {
+        unindex(auction.id());
+        AuctionCategory category = auction.metadata().category();
+        entries.put(auction.id(), new Entry(auction, category));
+        for (SortOrder order : COMPARATORS.keySet()) {
+            views.get(AuctionCategory.ALL).get(order).add(auction);
+            views.get(category).get(order).add(auction);
+        }
+    }
+
+    private void unindex(UUID auctionId) {
+        Entry entry = entries.remove(auctionId);
+        if (entry == null) {
+            return;
+        }
+        for (SortOrder order : COMPARATORS.keySet()) {
+            views.get(AuctionCategory.ALL).get(order).remove(entry.auction());
+            views.get(entry.category()).get(order).remove(entry.auction());
+        }
+    }
+
+    public Optional<Auction> get(UUID auctionId) {
+        Entry entry = entries.get(auctionId);
+        return entry == null ? Optional.empty() : Optional.of(entry.auction());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns up to {@code limit} auctions of the given category that follow {@code after} in the given order,
+     * or the first page when it is null. The start of the page is found with a single skip-list seek.
+     */
+    public List<Auction> pageAfter(AuctionCategory category, SortOrder sortOrder, PageCursor after, int limit) {
+        NavigableSet<Auction> view = views.get(category).get(sortOrder);
+        if (after != null) {
+            view = view.tailSet(probe(after, sortOrder), false);
+        }
+        List<Auction> page = new ArrayList<>(Math.min(limit, 64));
+        Iterator<Auction> iterator = view.iterator();
+        while (page.size() < limit && iterator.hasNext()) {
+            page.add(iterator.next());
+        }
+        return page;
+    }
+
+    /**
+     * Builds a key-only auction that sorts exactly where the cursor points in the given order.
+     */
+    private static Auction probe(PageCursor cursor, SortOrder sortOrder) {
+        double price = 0;
+        long createdAt = 0;
+        long endAt = 0;
+        switch (sortOrder) {
+            case PRICE_ASC, PRICE_DESC -> price = cursor.sortKey();
+            case NEWEST -> createdAt = cursor.timeKey();
+            case TIME_LEFT -> endAt = cursor.timeKey();
+        }
+        return new Auction(cursor.id(), null, null, null, price, null, null, createdAt, endAt, AuctionStatus.ACTIVE, 0);
+    }
+
+    private record Entry(Auction auction, AuctionCategory category) {}
+}
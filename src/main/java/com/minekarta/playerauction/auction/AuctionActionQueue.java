@@ -0,0 +1,59 @@
+package com.minekarta.playerauction.auction;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Runs asynchronous actions on an auction one at a time, in submission order, without ever blocking a thread.
+ * <p>
+ * Each auction with work in flight has a tail future; a new action is chained behind the current tail and
+ * becomes the new tail. An action starts once the previous one has completed, successfully or not, and its
+ * own future completes only when the future it returned does, so a buy waiting on the economy holds the
+ * auction but no thread. The entry is dropped as soon as the last queued action finishes.
+ */
+final class AuctionActionQueue {
+
+    private final Executor executor;
+    private final ConcurrentHashMap<UUID, CompletableFuture<?>> tails = new ConcurrentHashMap<>();
+
+    AuctionActionQueue(Executor executor) {
+        this.executor = executor;
+    }
+
+    <T> CompletableFuture<T> submit(UUID auctionId, Supplier<CompletableFuture<T>> action) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture<?> previous = tails.put(auctionId, result);
+        CompletableFuture<?> ready = previous == null ? CompletableFuture.completedFuture(null) : previous;
+
+        ready.handleAsync((v, ex) -> null, executor)
+            .thenCompose(ignored -> start(action))
+            .whenComplete((value, ex) -> {
+                // Only the last action in line removes the entry; later ones are already chained on this result
+                tails.remove(auctionId, result);
+                if (ex != null) {
+                    result.completeExceptionally(ex);
+                } else {
+                    result.complete(value);
+                }
+            });
+        return result;
+    }
+
+    /**
+     * @return The number of auctions with an action queued or running.
+     */
+    int size() {
+        return tails.size();
+    }
+
+    private static <T> CompletableFuture<T> start(Supplier<CompletableFuture<T>> action) {
+        try {
+            return action.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
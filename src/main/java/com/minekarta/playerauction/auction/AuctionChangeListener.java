@@ -0,0 +1,17 @@
+package com.minekarta.playerauction.auction;
+
+import com.minekarta.playerauction.auction.model.Auction;
+
+/**
+ * Told by {@link AuctionService} whenever a listing is created or its status changes, e.g. to drop
+ * cached renders of it. Called on whichever thread made the change, so implementations must be quick
+ * and thread-safe.
+ */
+@FunctionalInterface
+public interface AuctionChangeListener {
+
+    /**
+     * @param auction The auction as it is now stored.
+     */
+    void auctionChanged(Auction auction);
+}
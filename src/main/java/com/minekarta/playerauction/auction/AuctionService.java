@@ -2,55 +2,107 @@ package com.minekarta.playerauction.auction;
 
 import com.minekarta.playerauction.auction.model.Auction;
 import com.minekarta.playerauction.auction.model.AuctionStatus;
+import com.minekarta.playerauction.auction.model.ListingMetadata;
+import com.minekarta.playerauction.common.LifecycleManager;
 import com.minekarta.playerauction.common.SerializedItem;
 import com.minekarta.playerauction.config.ConfigManager;
 import com.minekarta.playerauction.economy.EconomyRouter;
 import com.minekarta.playerauction.economy.EconomyService;
+import com.minekarta.playerauction.economy.EconomyUnavailableException;
+import com.minekarta.playerauction.mailbox.MailboxService;
 import com.minekarta.playerauction.notification.NotificationManager;
 import com.minekarta.playerauction.storage.AuctionStorage;
+import com.minekarta.playerauction.storage.PageCursor;
+import com.minekarta.playerauction.storage.SettlementEntry;
+import com.minekarta.playerauction.storage.SettlementJournal;
 import java.util.Map;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 public class AuctionService {
 
+    private static final int EXPIRY_BATCH_SIZE = 500;
+
     private final JavaPlugin plugin;
     private final Executor asyncExecutor;
     private final AuctionStorage auctionStorage;
+    private final SettlementJournal settlementJournal;
     private final EconomyRouter economyRouter;
     private final ConfigManager configManager;
     private final NotificationManager notificationManager;
     private final com.minekarta.playerauction.transaction.TransactionLogger transactionLogger;
+    private final MailboxService mailboxService;
+    private final LifecycleManager lifecycle;
 
-    private final ConcurrentHashMap<UUID, ReentrantLock> auctionLocks = new ConcurrentHashMap<>();
+    private final ActiveAuctionIndex activeIndex = new ActiveAuctionIndex();
+    private final ExpiryScheduler expiryScheduler = new ExpiryScheduler();
+    private final AtomicInteger expirySweepRequests = new AtomicInteger();
+    private final AuctionActionQueue actionQueue;
+    private final List<AuctionChangeListener> changeListeners = new CopyOnWriteArrayList<>();
 
-    public AuctionService(JavaPlugin plugin, Executor asyncExecutor, AuctionStorage auctionStorage, EconomyRouter economyRouter, ConfigManager configManager, NotificationManager notificationManager, com.minekarta.playerauction.transaction.TransactionLogger transactionLogger) {
+    public AuctionService(JavaPlugin plugin, Executor asyncExecutor, AuctionStorage auctionStorage, SettlementJournal settlementJournal, EconomyRouter economyRouter, ConfigManager configManager, NotificationManager notificationManager, com.minekarta.playerauction.transaction.TransactionLogger transactionLogger, MailboxService mailboxService, LifecycleManager lifecycle) {
         this.plugin = plugin;
         this.asyncExecutor = asyncExecutor;
         this.auctionStorage = auctionStorage;
+        this.settlementJournal = settlementJournal;
         this.economyRouter = economyRouter;
         this.configManager = configManager;
         this.notificationManager = notificationManager;
         this.transactionLogger = transactionLogger;
+        this.mailboxService = mailboxService;
+        this.lifecycle = lifecycle;
+        this.actionQueue = new AuctionActionQueue(asyncExecutor);
+    }
+
+    /**
+     * Seeds the in-memory active auction index from storage. Until this completes, listing queries fall back to SQLite.
+     */
+    public CompletableFuture<Void> loadActiveIndex() {
+        return auctionStorage.findAllActive().thenAccept(activeAuctions -> {
+            activeIndex.load(activeAuctions);
+            expiryScheduler.load(activeAuctions);
+            plugin.getLogger().info("Indexed " + activeAuctions.size() + " active auctions.");
+        });
+    }
+
+    public void addChangeListener(AuctionChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    private void fireChanged(Auction auction) {
+        for (AuctionChangeListener listener : changeListeners) {
+            try {
+                listener.auctionChanged(auction);
+            } catch (RuntimeException e) {
+                plugin.getLogger().warning("An auction change listener failed: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
     }
 
     public CompletableFuture<Boolean> createListing(Player player, ItemStack item, double price, Double buyNowPrice, Double reservePrice, long durationMillis) {
+        if (rejectWhileShuttingDown(player)) {
+            return CompletableFuture.completedFuture(false);
+        }
         SerializedItem serializedItem = SerializedItem.fromItemStack(item);
         Auction auction = new Auction(
                 UUID.randomUUID(),
                 player.getUniqueId(),
                 serializedItem,
+                ListingMetadata.of(item),
                 price,
                 buyNowPrice,
                 reservePrice,
@@ -60,17 +112,37 @@ public class AuctionService {
                 1 // Initial version
         );
 
-        return auctionStorage.insertAuction(auction).thenApply(v -> true).exceptionally(ex -> {
+        return lifecycle.track(auctionStorage.insertAuction(auction).thenApply(v -> {
+            activeIndex.add(auction);
+            expiryScheduler.schedule(auction.id(), auction.endAt());
+            fireChanged(auction);
+            return true;
+        }).exceptionally(ex -> {
             plugin.getLogger().warning("Failed to create auction for " + player.getName());
             ex.printStackTrace();
             return false;
-        });
+        }));
     }
 
+    /**
+     * Buys an auction in three steps: claim it as {@link AuctionStatus#PENDING_SETTLEMENT} with a single version
+     * check, move the money, then either finalize it as sold or put it back on sale if the money could not be
+     * moved. A buyer who loses the race for the claim is turned away before any economy call is made.
+     * <p>
+     * The claim is recorded in the settlement journal in the same transaction that stores it, and every later
+     * step once it is done, so {@link SettlementRecovery} can finish or undo a purchase interrupted by a crash.
+     */
     public CompletableFuture<Boolean> buyItem(Player buyer, UUID auctionId) {
-        return executeWithLock(auctionId, () -> {
-            EconomyService economy = economyRouter.getService();
-            return auctionStorage.findById(auctionId).thenCompose(optAuction -> {
+        if (rejectWhileShuttingDown(buyer)) {
+            return CompletableFuture.completedFuture(false);
+        }
+        if (!economyRouter.isAvailable()) {
+            // Don't claim an auction that can't be paid for
+            buyer.sendMessage(configManager.getPrefixedMessage("errors.economy-unavailable"));
+            return CompletableFuture.completedFuture(false);
+        }
+        return executeWithLock(auctionId, () ->
+            auctionStorage.findById(auctionId).thenCompose(optAuction -> {
                 if (optAuction.isEmpty() || optAuction.get().status() != AuctionStatus.ACTIVE) {
                     buyer.sendMessage(configManager.getPrefixedMessage("errors.auction-not-found"));
                     return CompletableFuture.completedFuture(false);
@@ -83,58 +155,156 @@ public class AuctionService {
                     return CompletableFuture.completedFuture(false);
                 }
 
-                double buyPrice = auction.price();
-
-                return economy.withdraw(buyer.getUniqueId(), buyPrice, "Purchase item " + auction.id())
-                        .thenCompose(withdrawn -> {
-                            if (!withdrawn) {
+                Auction claimed = auction.withStatus(AuctionStatus.PENDING_SETTLEMENT).withIncrementedVersion();
+                EconomyService economy = economyRouter.getService();
+                double tax = configManager.getSettings().taxPercentage();
+                double sellerAmount = claimed.price() * (1 - tax / 100.0);
+                SettlementEntry claim = SettlementEntry.claimed(auctionId, buyer.getUniqueId(), claimed.seller(), claimed.price(), sellerAmount);
+                // The claim and its journal entry are stored together, so recovery always knows about a claimed auction
+                return auctionStorage.claimForSettlement(claimed, auction.version(), claim)
+                        .handle((isClaimed, ex) -> {
+                            if (ex != null) {
+                                // Nothing was stored, so no money may move
+                                ex.printStackTrace();
                                 buyer.sendMessage(configManager.getPrefixedMessage("errors.economy-fail"));
+                                return false;
+                            }
+                            if (!isClaimed) {
+                                buyer.sendMessage(configManager.getPrefixedMessage("errors.auction-not-found"));
+                            }
+                            return isClaimed;
+                        })
+                        .thenCompose(isClaimed -> {
+                            if (!isClaimed) {
                                 return CompletableFuture.completedFuture(false);
                             }
+                            activeIndex.remove(auctionId);
+                            expiryScheduler.cancel(auctionId);
+                            fireChanged(claimed);
 
-                            double tax = configManager.getConfig().getDouble("auction.tax-percentage", 0);
-                            double sellerAmount = buyPrice * (1 - tax / 100.0);
-
-                            // Give money to seller directly
-                            return economy.deposit(auction.seller(), sellerAmount, "Sold item " + auction.item().toItemStack().getType())
-                                    .thenCompose(v -> {
-                                        // Give item to buyer directly
-                                        ItemStack itemToGive = auction.item().toItemStack();
-                                        if (buyer.getInventory().firstEmpty() == -1) {
-                                            // Inventory full, drop item at player location
-                                            buyer.getWorld().dropItem(buyer.getLocation(), itemToGive);
-                                            buyer.sendMessage(configManager.getPrefixedMessage("inventory-full", "Inventory full, item dropped on ground"));
-                                        } else {
-                                            buyer.getInventory().addItem(itemToGive);
-                                        }
-
-                                        Player seller = Bukkit.getPlayer(auction.seller());
-                                        if (seller != null) {
-                                            notificationManager.sendNotification(seller, "auction.sold", Map.of(
-                                                "%item%", auction.item().toItemStack().getType().toString(),
-                                                "%price%", economy.format(sellerAmount)
-                                            ));
-                                        }
-
-                                        Auction updatedAuction = auction.withStatus(AuctionStatus.FINISHED).withIncrementedVersion();
-                                        return auctionStorage.updateAuctionIfVersionMatches(updatedAuction, auction.version())
-                                                .thenApply(updated -> {
-                                                    if(updated) transactionLogger.log(auction, "SOLD", buyer.getUniqueId(), buyPrice);
-                                                    return updated;
-                                                });
-                                    })
-                                    .exceptionally(ex -> {
-                                        // Refund buyer if seller deposit failed
-                                        return economy.deposit(buyer.getUniqueId(), buyPrice, "Refund - seller deposit failed")
-                                                .thenCompose(v -> CompletableFuture.completedFuture(false))
-                                                .join();
-                                    });
+                            return settle(economy, buyer, claim).thenCompose(settled -> settled
+                                    ? finalizePurchase(economy, buyer, claimed, claim)
+                                    : releaseClaim(claimed, claim));
                         });
-            });
+            })
+        );
+    }
+
+    /**
+     * Moves the money for a claimed auction.
+     * @return A future completing with true if the buyer paid and the seller was credited, false if nothing changed hands,
+     *         or failing if the buyer paid and could not be refunded. The claim is then left pending settlement, with the
+     *         journal at {@code PAID}, for {@link SettlementRecovery} to refund.
+     */
+    private CompletableFuture<Boolean> settle(EconomyService economy, Player buyer, SettlementEntry claim) {
+        return economy.withdraw(buyer.getUniqueId(), claim.price(), "Purchase item " + claim.auctionId())
+                .thenApply(withdrawn -> {
+                    if (!withdrawn) {
+                        buyer.sendMessage(configManager.getPrefixedMessage("errors.economy-fail"));
+                    }
+                    return withdrawn;
+                })
+                .exceptionally(ex -> {
+                    reportEconomyError(buyer, ex);
+                    return false;
+                })
+                .thenCompose(withdrawn -> {
+                    if (!withdrawn) {
+                        return CompletableFuture.completedFuture(false);
+                    }
+                    return record(claim.next(SettlementEntry.Step.PAID))
+                            .thenCompose(v -> economy.deposit(claim.sellerUuid(), claim.sellerAmount(), "Sold item " + claim.auctionId()))
+                            .thenCompose(v -> record(claim.next(SettlementEntry.Step.CREDITED)))
+                            .thenApply(v -> true)
+                            .exceptionallyCompose(ex -> {
+                                // The seller could not be credited, so give the buyer their money back
+                                reportEconomyError(buyer, ex);
+                                SettlementEntry refunded = claim.next(SettlementEntry.Step.REFUNDED);
+                                return economy.refund(buyer.getUniqueId(), claim.price(), "Refund - seller deposit failed", () -> record(refunded))
+                                        .thenCompose(v -> record(refunded))
+                                        .thenApply(v -> false)
+                                        .exceptionallyCompose(refundEx -> {
+                                            // Keep the journal at PAID: recovery refunds the buyer unless this refund lands late and records itself
+                                            plugin.getLogger().warning("Could not refund " + claim.price() + " to " + buyer.getName() + " for auction "
+                                                    + claim.auctionId() + "; leaving it to settlement recovery: " + refundEx.getMessage());
+                                            buyer.sendMessage(configManager.getPrefixedMessage("errors.refund-pending", "{amount}", economy.format(claim.price())));
+                                            return CompletableFuture.failedFuture(refundEx);
+                                        });
+                            });
+                });
+    }
+
+    private void reportEconomyError(Player buyer, Throwable ex) {
+        if (EconomyUnavailableException.isCause(ex)) {
+            plugin.getLogger().warning("Purchase by " + buyer.getName() + " failed: " + ex.getMessage());
+            buyer.sendMessage(configManager.getPrefixedMessage("errors.economy-unavailable"));
+        } else {
+            ex.printStackTrace();
+            buyer.sendMessage(configManager.getPrefixedMessage("errors.economy-fail"));
+        }
+    }
+
+    private CompletableFuture<Boolean> finalizePurchase(EconomyService economy, Player buyer, Auction claimed, SettlementEntry claim) {
+        Auction finished = claimed.withStatus(AuctionStatus.FINISHED).withIncrementedVersion();
+        return auctionStorage.updateAuctionIfVersionMatches(finished, claimed.version())
+                .thenCompose(updated -> {
+                    if (!updated) {
+                        // The claim is still ours and the buyer has paid, so the item is delivered regardless
+                        plugin.getLogger().warning("Could not mark auction " + claimed.id() + " as sold; it remains pending settlement.");
+                    } else {
+                        fireChanged(finished);
+                    }
+
+                    Player seller = Bukkit.getPlayer(claimed.seller());
+                    if (seller != null) {
+                        notificationManager.sendNotification(seller, NotificationManager.Kind.SOLD, "auction.sold", Map.of(
+                            "%item%", claimed.metadata().material().toString(),
+                            "%price%", economy.format(claim.sellerAmount())
+                        ), claim.sellerAmount());
+                    }
+
+                    transactionLogger.log(claimed, "SOLD", buyer.getUniqueId(), claimed.price());
+                    // Send the item through the buyer's mailbox, which hands it over at once if it fits
+                    // Stored under the settlement id, which recovery reuses, so a redone delivery can't duplicate it
+                    return mailboxService.send(buyer, claimed, "PURCHASE", claim.settlementId())
+                            .thenCompose(v -> record(claim.next(updated ? SettlementEntry.Step.COMPLETED : SettlementEntry.Step.DELIVERED)))
+                            .thenApply(v -> true);
+                });
+    }
+
+    /**
+     * Puts a claimed auction back on sale after its settlement failed.
+     */
+    private CompletableFuture<Boolean> releaseClaim(Auction claimed, SettlementEntry claim) {
+        Auction restored = claimed.withStatus(AuctionStatus.ACTIVE).withIncrementedVersion();
+        return auctionStorage.updateAuctionIfVersionMatches(restored, claimed.version())
+                .thenCompose(updated -> {
+                    if (!updated) {
+                        plugin.getLogger().warning("Could not release the claim on auction " + claimed.id() + "; it remains pending settlement.");
+                        return CompletableFuture.completedFuture(false);
+                    }
+                    activeIndex.add(restored);
+                    expiryScheduler.schedule(restored.id(), restored.endAt());
+                    fireChanged(restored);
+                    return record(claim.next(SettlementEntry.Step.RELEASED)).thenApply(v -> false);
+                });
+    }
+
+    /**
+     * Records a settlement step past the claim. A failure is only logged: the money has already moved, and
+     * recovery redoes the step from the last one recorded.
+     */
+    private CompletableFuture<Void> record(SettlementEntry entry) {
+        return settlementJournal.append(entry).exceptionally(ex -> {
+            ex.printStackTrace();
+            return null;
         });
     }
 
     public CompletableFuture<Boolean> cancelAuction(Player player, UUID auctionId) {
+        if (rejectWhileShuttingDown(player)) {
+            return CompletableFuture.completedFuture(false);
+        }
         return executeWithLock(auctionId, () ->
             auctionStorage.findById(auctionId).thenCompose(optAuction -> {
                 if (optAuction.isEmpty()) {
@@ -150,99 +320,173 @@ public class AuctionService {
                     return CompletableFuture.completedFuture(false);
                 }
 
-                // Return item directly to seller
-                ItemStack itemToReturn = auction.item().toItemStack();
-                if (player.getInventory().firstEmpty() == -1) {
-                    // Inventory full, drop item at player location
-                    player.getWorld().dropItem(player.getLocation(), itemToReturn);
-                    player.sendMessage(configManager.getPrefixedMessage("inventory-full", "Inventory full, item dropped on ground"));
-                } else {
-                    player.getInventory().addItem(itemToReturn);
-                }
-
                 Auction updatedAuction = auction.withStatus(AuctionStatus.CANCELLED).withIncrementedVersion();
                 return auctionStorage.updateAuctionIfVersionMatches(updatedAuction, auction.version())
-                        .thenApply(updated -> {
-                            if(updated) transactionLogger.log(updatedAuction, "CANCELLED", null, null);
-                            return updated;
+                        .thenCompose(updated -> {
+                            if (!updated) {
+                                return CompletableFuture.completedFuture(false);
+                            }
+                            activeIndex.remove(auctionId);
+                            expiryScheduler.cancel(auctionId);
+                            fireChanged(updatedAuction);
+                            transactionLogger.log(updatedAuction, "CANCELLED", null, null);
+                            // Return the item only once the cancellation is stored, so a lost race can't duplicate it
+                            return mailboxService.send(player, auction, "CANCELLED").thenApply(v -> true);
                         });
             })
         );
     }
 
+    /**
+     * Expires the auctions whose scheduled end has passed. Cheap when nothing is due; meant to run every second.
+     */
+    public void expireDueAuctions() {
+        if (!lifecycle.isAccepting()) {
+            return;
+        }
+        if (!expiryScheduler.pollDue(System.currentTimeMillis()).isEmpty()) {
+            requestExpirySweep();
+        }
+    }
+
+    /**
+     * Safety net for {@link #expireDueAuctions()}: sweeps storage for expired auctions, e.g. ones whose expiry
+     * failed or that ended before the active index was loaded.
+     */
     public void processExpiredAuctions() {
-        int batchSize = 200;
-        auctionStorage.findExpiredUpTo(System.currentTimeMillis(), batchSize).thenAccept(expiredAuctions -> {
-            if (!expiredAuctions.isEmpty()) {
-                plugin.getLogger().info("Processing " + expiredAuctions.size() + " expired auctions...");
+        if (!lifecycle.isAccepting()) {
+            return;
+        }
+        requestExpirySweep();
+    }
+
+    /**
+     * Runs an expiry sweep, or if one is already running, another one right after it, so deadlines that
+     * come due mid-sweep are never missed. Only one sweep runs at a time.
+     */
+    private void requestExpirySweep() {
+        if (expirySweepRequests.getAndIncrement() == 0) {
+            runExpirySweep();
+        }
+    }
+
+    private void runExpirySweep() {
+        int requests = expirySweepRequests.get();
+        lifecycle.track(expireBatches(0)).whenComplete((total, ex) -> {
+            if (ex != null) {
+                plugin.getLogger().warning("Expiry sweep failed: " + ex.getMessage());
+            } else if (total > 0) {
+                plugin.getLogger().info("Expired " + total + " auctions.");
             }
-            for (Auction auction : expiredAuctions) {
-                executeWithLock(auction.id(), () ->
-                    // Re-fetch to ensure it's still valid to process
-                    auctionStorage.findById(auction.id()).thenCompose(optAuction -> {
-                        if (optAuction.isEmpty() || optAuction.get().status() != AuctionStatus.ACTIVE) {
-                            return CompletableFuture.completedFuture(false); // Already processed
-                        }
-
-                        Auction current = optAuction.get();
-
-                        // Expired - return item to seller
-                        Player seller = Bukkit.getPlayer(current.seller());
-                        if (seller != null && seller.isOnline()) {
-                            ItemStack itemToReturn = current.item().toItemStack();
-                            if (seller.getInventory().firstEmpty() == -1) {
-                                // Inventory full, drop item at seller location
-                                seller.getWorld().dropItem(seller.getLocation(), itemToReturn);
-                                seller.sendMessage(configManager.getPrefixedMessage("inventory-full", "Inventory full, expired item dropped on ground"));
-                            } else {
-                                seller.getInventory().addItem(itemToReturn);
-                            }
-                            notificationManager.sendNotification(seller, "auction.expired", Map.of(
-                                "%item%", current.item().toItemStack().getType().toString()
-                            ));
-                        }
-
-                        Auction updated = current.withStatus(AuctionStatus.EXPIRED).withIncrementedVersion();
-                        return auctionStorage.updateAuctionIfVersionMatches(updated, current.version())
-                                .thenApply(isUpdated -> {
-                                    if (isUpdated) {
-                                        transactionLogger.log(updated, "EXPIRED");
-                                    }
-                                    return isUpdated;
-                                });
-                    })
-                );
+            if (expirySweepRequests.addAndGet(-requests) > 0) {
+                runExpirySweep();
+            }
+        });
+    }
+
+    /**
+     * Expires due auctions a batch at a time, each batch in one storage transaction, until none are left.
+     */
+    private CompletableFuture<Integer> expireBatches(int expiredSoFar) {
+        return auctionStorage.expireDue(System.currentTimeMillis(), EXPIRY_BATCH_SIZE).thenCompose(expired -> {
+            for (Auction auction : expired) {
+                activeIndex.remove(auction.id());
+                expiryScheduler.cancel(auction.id());
+                fireChanged(auction);
+            }
+            returnExpiredItems(expired);
+            int total = expiredSoFar + expired.size();
+            if (expired.size() < EXPIRY_BATCH_SIZE || !lifecycle.isAccepting()) {
+                return CompletableFuture.completedFuture(total);
             }
+            return expireBatches(total);
         });
     }
 
+    /**
+     * Notifies the online sellers of expired auctions and delivers their mailboxes, one main-thread task per
+     * seller. Storage has already put the items in the mailboxes, so offline sellers get them when they join.
+     * A seller's notifications are merged into one digest by the notification manager.
+     */
+    private void returnExpiredItems(List<Auction> expired) {
+        if (!plugin.isEnabled()) {
+            // Shutting down; the items are already in the mailboxes and the scheduler refuses new tasks
+            return;
+        }
+        Map<UUID, List<Auction>> bySeller = new HashMap<>();
+        for (Auction auction : expired) {
+            bySeller.computeIfAbsent(auction.seller(), k -> new ArrayList<>()).add(auction);
+        }
+        bySeller.forEach((sellerId, auctions) -> plugin.getServer().getScheduler().runTask(plugin, () -> {
+            Player seller = Bukkit.getPlayer(sellerId);
+            if (seller == null || !seller.isOnline()) {
+                return;
+            }
+            if (configManager.getSettings().mailboxEnabled()) {
+                mailboxService.deliver(seller);
+            }
+            for (Auction auction : auctions) {
+                notificationManager.sendNotification(seller, NotificationManager.Kind.EXPIRED, "auction.expired", Map.of(
+                    "%item%", auction.metadata().material().toString()
+                ), 0);
+            }
+        }));
+    }
+
     // Utility methods
     private <T> CompletableFuture<T> executeWithLock(UUID auctionId, Supplier<CompletableFuture<T>> operation) {
-        ReentrantLock lock = auctionLocks.computeIfAbsent(auctionId, k -> new ReentrantLock());
-        return CompletableFuture.supplyAsync(() -> {
-            lock.lock();
-            try {
-                return operation.get().join();
-            } finally {
-                lock.unlock();
-                auctionLocks.remove(auctionId, lock);
-            }
-        }, asyncExecutor);
+        return lifecycle.track(actionQueue.submit(auctionId, operation));
+    }
+
+    private boolean rejectWhileShuttingDown(Player player) {
+        if (lifecycle.isAccepting()) {
+            return false;
+        }
+        player.sendMessage(configManager.getPrefixedMessage("errors.shutting-down"));
+        return true;
     }
 
     // Getters
+    /**
+     * Returns a page of active auctions by page number, always from storage. Browsing should use
+     * {@link #getActiveAuctionsAfter}, which the in-memory index serves with a single seek per page.
+     */
     public CompletableFuture<List<Auction>> getActiveAuctions(int page, int limit, com.minekarta.playerauction.gui.model.AuctionCategory category, com.minekarta.playerauction.gui.model.SortOrder sortOrder, String searchQuery) {
         return auctionStorage.findActiveAuctions(page, limit, category, sortOrder, searchQuery);
     }
 
+    /**
+     * Returns the page of active auctions that follows {@code after}, or the first page when it is null.
+     * Plain browsing is served from memory; searches still go to storage.
+     */
+    public CompletableFuture<List<Auction>> getActiveAuctionsAfter(PageCursor after, int limit, com.minekarta.playerauction.gui.model.AuctionCategory category, com.minekarta.playerauction.gui.model.SortOrder sortOrder, String searchQuery) {
+        if (activeIndex.isLoaded() && (searchQuery == null || searchQuery.isBlank())) {
+            return CompletableFuture.completedFuture(activeIndex.pageAfter(category, browseOrder(sortOrder), after, limit));
+        }
+        return auctionStorage.findActiveAfter(after, limit, category, sortOrder, searchQuery);
+    }
+
+    private static com.minekarta.playerauction.gui.model.SortOrder browseOrder(com.minekarta.playerauction.gui.model.SortOrder sortOrder) {
+        // Without a search there is nothing to rank by relevance
+        return sortOrder == com.minekarta.playerauction.gui.model.SortOrder.RELEVANCE ? com.minekarta.playerauction.gui.model.SortOrder.NEWEST : sortOrder;
+    }
+
     public CompletableFuture<List<Auction>> getPlayerAuctions(UUID playerId, int page, int limit) {
-        return auctionStorage.findBySeller(playerId, page, limit);
+        return auctionStorage.findBySeller(playerId, limit, (page - 1) * limit);
+    }
+
+    public CompletableFuture<List<Auction>> getPlayerAuctionsAfter(UUID playerId, PageCursor after, int limit) {
+        return auctionStorage.findBySellerAfter(playerId, after, limit);
     }
 
     public CompletableFuture<List<Auction>> getPlayerHistory(UUID playerId, int page, int limit) {
         return auctionStorage.findPlayerHistory(playerId, page, limit);
     }
 
+    public CompletableFuture<List<Auction>> getPlayerHistoryAfter(UUID playerId, PageCursor after, int limit) {
+        return auctionStorage.findPlayerHistoryAfter(playerId, after, limit);
+    }
+
     public CompletableFuture<Integer> getPlayerActiveAuctionCount(UUID playerId) {
         return auctionStorage.countActiveAuctionsByPlayer(playerId);
     }
@@ -252,5 +496,7 @@ public class AuctionService {
     public EconomyRouter getEconomyRouter() { return economyRouter; }
     public Executor getAsyncExecutor() { return asyncExecutor; }
     public AuctionStorage getAuctionStorage() { return auctionStorage; }
+    public ActiveAuctionIndex getActiveIndex() { return activeIndex; }
+    public ExpiryScheduler getExpiryScheduler() { return expiryScheduler; }
     public JavaPlugin getPlugin() { return plugin; }
 }
\ No newline at end of file
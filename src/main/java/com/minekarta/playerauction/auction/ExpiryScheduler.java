@@ -0,0 +1,103 @@
+package com.minekarta.playerauction.auction;
+
+import com.minekarta.playerauction.auction.model.Auction;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Knows when every active auction ends, so auctions are expired as they come due instead of by polling storage.
+ * <p>
+ * Deadlines are grouped into one-second buckets, rounded up so an auction never expires early: each auction is
+ * expired within about a second of its end, and auctions ending in the same second are expired together.
+ * Kept in sync with the {@link ActiveAuctionIndex} by {@link AuctionService}.
+ */
+public class ExpiryScheduler {
+
+    private static final long BUCKET_MILLIS = 1000;
+
+    private final TreeMap<Long, Set<UUID>> buckets = new TreeMap<>();
+    private final Map<UUID, Long> bucketOf = new HashMap<>();
+    // Auctions scheduled or cancelled while the load was in flight; their snapshot rows may predate the change
+    private final Set<UUID> changedWhileLoading = new HashSet<>();
+    private boolean loaded = false;
+
+    /**
+     * Schedules the deadlines of the given auctions. Auctions scheduled or cancelled while the load was in
+     * flight are newer than the snapshot, so their snapshot rows are skipped, as in {@link ActiveAuctionIndex#load}.
+     */
+    public synchronized void load(Collection<Auction> activeAuctions) {
+        for (Auction auction : activeAuctions) {
+            if (!changedWhileLoading.contains(auction.id())) {
+                add(auction.id(), auction.endAt());
+            }
+        }
+        changedWhileLoading.clear();
+        loaded = true;
+    }
+
+    /**
+     * Schedules an auction to expire at {@code endAt}, replacing any earlier deadline it had.
+     */
+    public synchronized void schedule(UUID auctionId, long endAt) {
+        if (!loaded) {
+            changedWhileLoading.add(auctionId);
+        }
+        add(auctionId, endAt);
+    }
+
+    private void add(UUID auctionId, long endAt) {
+        long bucket = Math.floorDiv(endAt + BUCKET_MILLIS - 1, BUCKET_MILLIS);
+        Long previous = bucketOf.put(auctionId, bucket);
+        if (previous != null && previous != bucket) {
+            removeFromBucket(previous, auctionId);
+        }
+        buckets.computeIfAbsent(bucket, k -> new HashSet<>()).add(auctionId);
+    }
+
+    /**
+     * Forgets an auction that was sold, cancelled or expired.
+     */
+    public synchronized void cancel(UUID auctionId) {
+        if (!loaded) {
+            changedWhileLoading.add(auctionId);
+        }
+        Long bucket = bucketOf.remove(auctionId);
+        if (bucket != null) {
+            removeFromBucket(bucket, auctionId);
+        }
+    }
+
+    /**
+     * Removes and returns every auction whose deadline has passed.
+     */
+    public synchronized List<UUID> pollDue(long nowEpochMillis) {
+        List<UUID> due = new ArrayList<>();
+        long current = Math.floorDiv(nowEpochMillis, BUCKET_MILLIS);
+        while (!buckets.isEmpty() && buckets.firstKey() <= current) {
+            for (UUID auctionId : buckets.pollFirstEntry().getValue()) {
+                bucketOf.remove(auctionId);
+                due.add(auctionId);
+            }
+        }
+        return due;
+    }
+
+    public synchronized int size() {
+        return bucketOf.size();
+    }
+
+    private void removeFromBucket(long bucket, UUID auctionId) {
+        Set<UUID> ids = buckets.get(bucket);
+        if (ids != null && ids.remove(auctionId) && ids.isEmpty()) {
+            buckets.remove(bucket);
+        }
+    }
+}
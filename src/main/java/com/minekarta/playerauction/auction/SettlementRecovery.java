@@ -0,0 +1,163 @@
+package com.minekarta.playerauction.auction;
+
+import com.minekarta.playerauction.auction.model.Auction;
+import com.minekarta.playerauction.auction.model.AuctionStatus;
+import com.minekarta.playerauction.config.ConfigManager;
+import com.minekarta.playerauction.economy.EconomyRouter;
+import com.minekarta.playerauction.mailbox.MailboxService;
+import com.minekarta.playerauction.mailbox.model.MailboxEntry;
+import com.minekarta.playerauction.storage.AuctionStorage;
+import com.minekarta.playerauction.storage.SettlementEntry;
+import com.minekarta.playerauction.storage.SettlementJournal;
+import com.minekarta.playerauction.transaction.TransactionLogger;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finishes or undoes the purchases a crash or shutdown interrupted, based on the last step each one recorded
+ * in the {@link SettlementJournal}:
+ * <ul>
+ *     <li>{@code CLAIMED}: the buyer's payment may have gone through without being recorded, so the
+ *     settlement is recorded as {@code NEEDS_REVIEW} for an administrator and the auction goes back on sale.</li>
+ *     <li>{@code NEEDS_REVIEW}: the auction goes back on sale.</li>
+ *     <li>{@code PAID}: the seller was never credited, so the buyer is refunded and the auction goes back on sale.</li>
+ *     <li>{@code REFUNDED}: the auction goes back on sale.</li>
+ *     <li>{@code CREDITED}: both sides have paid, so the auction is marked sold and the item is put in the
+ *     buyer's mailbox.</li>
+ *     <li>{@code DELIVERED}: the auction is marked sold.</li>
+ * </ul>
+ * Steps are recorded after the action they describe, so an action interrupted before its step was recorded
+ * is redone, and a settlement whose step cannot be recorded is retried on the next start. Deliveries, live and
+ * recovered, use the settlement id as their mailbox entry id, so redoing one does not mail the item twice.
+ */
+public class SettlementRecovery {
+
+    private final JavaPlugin plugin;
+    private final AuctionStorage auctionStorage;
+    private final SettlementJournal journal;
+    private final EconomyRouter economyRouter;
+    private final TransactionLogger transactionLogger;
+    private final MailboxService mailboxService;
+    private final ConfigManager configManager;
+    private final long startedAt = System.currentTimeMillis();
+
+    public SettlementRecovery(JavaPlugin plugin, AuctionStorage auctionStorage, SettlementJournal journal, EconomyRouter economyRouter, TransactionLogger transactionLogger, MailboxService mailboxService, ConfigManager configManager) {
+        this.plugin = plugin;
+        this.auctionStorage = auctionStorage;
+        this.journal = journal;
+        this.economyRouter = economyRouter;
+        this.transactionLogger = transactionLogger;
+        this.mailboxService = mailboxService;
+        this.configManager = configManager;
+    }
+
+    /**
+     * Recovers every settlement left unfinished before this instance was created, one at a time, then purges
+     * finished settlements older than the configured retention.
+     */
+    public CompletableFuture<Void> recover() {
+        return journal.findUnfinished(startedAt).thenCompose(entries -> {
+            if (!entries.isEmpty()) {
+                plugin.getLogger().warning("Recovering " + entries.size() + " interrupted purchases...");
+            }
+            CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+            for (SettlementEntry entry : entries) {
+                chain = chain.thenCompose(v -> recover(entry).exceptionally(ex -> {
+                    // Left unfinished in the journal, so the next start picks it up again from its last step
+                    plugin.getLogger().severe("Could not recover settlement " + entry.settlementId() + " of auction " + entry.auctionId()
+                            + " at step " + entry.step() + "; it will be retried on the next start.");
+                    ex.printStackTrace();
+                    return null;
+                }));
+            }
+            return chain;
+        }).thenCompose(v -> journal.countNeedingReview()).thenCompose(needingReview -> {
+            if (needingReview > 0) {
+                plugin.getLogger().warning(needingReview + " interrupted purchases need manual review: their payment may have been taken without"
+                        + " being recorded. See the NEEDS_REVIEW rows of the settlement_journal table.");
+            }
+            long retentionDays = configManager.getConfig().getLong("auction.settlement-journal-retention-days", 30);
+            return journal.purgeFinishedBefore(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(retentionDays));
+        }).thenAccept(purged -> {
+            if (purged > 0) {
+                plugin.getLogger().info("Purged " + purged + " old settlement journal entries.");
+            }
+        });
+    }
+
+    private CompletableFuture<Void> recover(SettlementEntry entry) {
+        return switch (entry.step()) {
+            case CLAIMED -> {
+                // A payment in flight when the server stopped is indistinguishable from one never made, so it is
+                // recorded for review before the auction goes back on sale
+                plugin.getLogger().warning("Purchase of auction " + entry.auctionId() + " by " + entry.buyerUuid() + " for " + entry.price()
+                        + " was interrupted before payment was confirmed; putting the auction back on sale and recording it for review.");
+                yield journal.append(entry.next(SettlementEntry.Step.NEEDS_REVIEW)).thenCompose(v -> release(entry));
+            }
+            case NEEDS_REVIEW -> release(entry);
+            case PAID -> economyRouter.getService()
+                    .refund(entry.buyerUuid(), entry.price(), "Refund - interrupted purchase " + entry.auctionId(),
+                            () -> journal.append(entry.next(SettlementEntry.Step.REFUNDED)))
+                    .thenCompose(v -> journal.append(entry.next(SettlementEntry.Step.REFUNDED)))
+                    .thenCompose(v -> release(entry));
+            case REFUNDED -> release(entry);
+            case CREDITED -> markSold(entry).thenCompose(v -> mail(entry));
+            case DELIVERED -> markSold(entry).thenCompose(v -> journal.append(entry.next(SettlementEntry.Step.COMPLETED)));
+            default -> CompletableFuture.completedFuture(null);
+        };
+    }
+
+    private CompletableFuture<Void> release(SettlementEntry entry) {
+        return auctionStorage.findById(entry.auctionId()).thenCompose(optAuction -> {
+            if (optAuction.isEmpty() || optAuction.get().status() != AuctionStatus.PENDING_SETTLEMENT) {
+                return CompletableFuture.completedFuture(null);
+            }
+            Auction pending = optAuction.get();
+            return auctionStorage.updateAuctionIfVersionMatches(pending.withStatus(AuctionStatus.ACTIVE).withIncrementedVersion(), pending.version())
+                    .thenAccept(updated -> {});
+        }).thenCompose(v -> journal.append(entry.next(SettlementEntry.Step.RELEASED)));
+    }
+
+    private CompletableFuture<Void> markSold(SettlementEntry entry) {
+        return auctionStorage.findById(entry.auctionId()).thenCompose(optAuction -> {
+            if (optAuction.isEmpty() || optAuction.get().status() != AuctionStatus.PENDING_SETTLEMENT) {
+                return CompletableFuture.completedFuture(null);
+            }
+            Auction pending = optAuction.get();
+            return auctionStorage.updateAuctionIfVersionMatches(pending.withStatus(AuctionStatus.FINISHED).withIncrementedVersion(), pending.version())
+                    .thenAccept(updated -> {
+                        if (updated) {
+                            transactionLogger.log(pending, "SOLD", entry.buyerUuid(), entry.price());
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Puts the bought item in the buyer's mailbox, delivering it at once if they are online.
+     */
+    private CompletableFuture<Void> mail(SettlementEntry entry) {
+        return auctionStorage.findById(entry.auctionId()).thenCompose(optAuction -> {
+            if (optAuction.isEmpty()) {
+                return CompletableFuture.completedFuture((Auction) null);
+            }
+            Auction auction = optAuction.get();
+            MailboxEntry purchase = new MailboxEntry(entry.settlementId(), entry.buyerUuid(), auction.id(), auction.item(), 0, "PURCHASE", System.currentTimeMillis());
+            return mailboxService.deposit(List.of(purchase)).thenApply(v -> auction);
+        }).thenCompose(auction -> journal.append(entry.next(SettlementEntry.Step.COMPLETED)).thenRun(() -> {
+            Player buyer = Bukkit.getPlayer(entry.buyerUuid());
+            if (auction == null || buyer == null || !buyer.isOnline()) {
+                return;
+            }
+            plugin.getServer().getScheduler().runTask(plugin, () -> {
+                buyer.sendMessage(configManager.getPrefixedMessage("mailbox.purchase-recovered", "{item}", auction.metadata().materialName()));
+                mailboxService.deliver(buyer);
+            });
+        }));
+    }
+}
@@ -9,6 +9,7 @@ public record Auction(
     UUID id,
     UUID seller,
     SerializedItem item,
+    ListingMetadata metadata,
     double price,
     @Nullable Double buyNowPrice,
     @Nullable Double reservePrice,
@@ -23,7 +24,7 @@ public record Auction(
      * @return A new Auction object with the updated status.
      */
     public Auction withStatus(AuctionStatus newStatus) {
-        return new Auction(id, seller, item, price, buyNowPrice, reservePrice, createdAt, endAt, newStatus, version);
+        return new Auction(id, seller, item, metadata, price, buyNowPrice, reservePrice, createdAt, endAt, newStatus, version);
     }
 
     /**
@@ -31,6 +32,6 @@ public record Auction(
      * @return A new Auction object with the version incremented by 1.
      */
     public Auction withIncrementedVersion() {
-        return new Auction(id, seller, item, price, buyNowPrice, reservePrice, createdAt, endAt, status, version + 1);
+        return new Auction(id, seller, item, metadata, price, buyNowPrice, reservePrice, createdAt, endAt, status, version + 1);
     }
 }
@@ -2,6 +2,10 @@ package com.minekarta.playerauction.auction.model;
 
 public enum AuctionStatus {
     ACTIVE,
+    /**
+     * Claimed by a buyer whose payment is still being settled; no longer for sale.
+     */
+    PENDING_SETTLEMENT,
     FINISHED,
     CANCELLED,
     EXPIRED
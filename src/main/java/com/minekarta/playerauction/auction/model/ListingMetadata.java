@@ -0,0 +1,91 @@
+package com.minekarta.playerauction.auction.model;
+
+import com.minekarta.playerauction.gui.model.AuctionCategory;
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.EnchantmentStorageMeta;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Everything list views and search need to know about a listed item, computed once when the listing is
+ * created and stored alongside it, so only the slots actually shown or bought ever decode the full item.
+ *
+ * @param material The item type.
+ * @param amount The stack size.
+ * @param displayName The custom name with its color codes, or null if the item has none.
+ * @param enchantments A readable summary such as {@code "sharpness 5, unbreaking 3"}, empty if none.
+ * @param category The browse category the item falls into.
+ * @param searchText Every searchable word of the item (material, name, lore, enchantments), lowercased and
+ *                   stripped of color codes.
+ */
+public record ListingMetadata(
+    Material material,
+    int amount,
+    @Nullable String displayName,
+    String enchantments,
+    AuctionCategory category,
+    String searchText
+) {
+
+    public static ListingMetadata of(ItemStack item) {
+        ItemMeta meta = item.hasItemMeta() ? item.getItemMeta() : null;
+        String displayName = meta != null && meta.hasDisplayName() ? meta.getDisplayName() : null;
+
+        List<String> enchantments = new ArrayList<>();
+        addEnchantments(enchantments, item.getEnchantments());
+        if (meta instanceof EnchantmentStorageMeta storage) {
+            addEnchantments(enchantments, storage.getStoredEnchants());
+        }
+        String enchantmentSummary = String.join(", ", enchantments);
+
+        StringBuilder searchText = new StringBuilder(humanize(item.getType().name()));
+        if (displayName != null) {
+            searchText.append(' ').append(ChatColor.stripColor(displayName));
+        }
+        if (meta != null && meta.hasLore()) {
+            for (String line : meta.getLore()) {
+                searchText.append(' ').append(ChatColor.stripColor(line));
+            }
+        }
+        if (!enchantmentSummary.isEmpty()) {
+            searchText.append(' ').append(enchantmentSummary);
+        }
+
+        return new ListingMetadata(
+            item.getType(),
+            item.getAmount(),
+            displayName,
+            enchantmentSummary,
+            AuctionCategory.of(item.getType()),
+            searchText.toString().toLowerCase(Locale.ROOT)
+        );
+    }
+
+    /**
+     * @return The material as players read it, e.g. {@code "diamond sword"}.
+     */
+    public String materialName() {
+        return humanize(material.name());
+    }
+
+    private static void addEnchantments(List<String> summary, @Nullable Map<Enchantment, Integer> enchantments) {
+        if (enchantments == null) {
+            return;
+        }
+        for (Map.Entry<Enchantment, Integer> entry : enchantments.entrySet()) {
+            summary.add(humanize(entry.getKey().getKey().getKey()) + " " + entry.getValue());
+        }
+    }
+
+    private static String humanize(String key) {
+        return key.replace('_', ' ').toLowerCase(Locale.ROOT);
+    }
+}
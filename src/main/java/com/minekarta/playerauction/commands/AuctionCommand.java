@@ -1,12 +1,24 @@
 package com.minekarta.playerauction.commands;
 
+import com.google.common.cache.CacheStats;
 import com.minekarta.playerauction.PlayerAuction;
 import com.minekarta.playerauction.auction.AuctionService;
+import com.minekarta.playerauction.common.ItemCodecCache;
+import com.minekarta.playerauction.common.SerializedItem;
+import com.minekarta.playerauction.config.AuctionSettings;
 import com.minekarta.playerauction.config.ConfigManager;
+import com.minekarta.playerauction.economy.CachingEconomyService;
+import com.minekarta.playerauction.economy.EconomyExecutor;
 import com.minekarta.playerauction.gui.HistoryGui;
+import com.minekarta.playerauction.gui.DispatchBenchmark;
+import com.minekarta.playerauction.gui.ListingRenderCache;
+import com.minekarta.playerauction.gui.ViewerRegistry;
+import com.minekarta.playerauction.gui.MailboxGui;
 import com.minekarta.playerauction.gui.MainAuctionGui;
 import com.minekarta.playerauction.gui.MyListingsGui;
 import com.minekarta.playerauction.gui.model.SortOrder;
+import com.minekarta.playerauction.util.CodecBenchmark;
+import com.minekarta.playerauction.util.MessageBenchmark;
 import com.minekarta.playerauction.util.DurationParser;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -15,6 +27,10 @@ import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 public class AuctionCommand implements CommandExecutor {
 
     private final PlayerAuction plugin;
@@ -52,10 +68,19 @@ public class AuctionCommand implements CommandExecutor {
                 }
                 new MyListingsGui(plugin, player, 1).open();
             }
+            case "mailbox" -> {
+                if (!player.hasPermission("playerauctions.use")) {
+                    player.sendMessage(configManager.getPrefixedMessage("errors.no-permission"));
+                    return true;
+                }
+                new MailboxGui(plugin, player, 1).open();
+            }
             case "reload" -> handleReload(player);
             case "search" -> handleSearch(player, args);
             case "notify" -> handleNotify(player, args);
             case "history" -> handleHistory(player, args);
+            case "stats" -> handleStats(player);
+            case "benchmark" -> handleBenchmark(player, args);
             default -> {
                 player.sendMessage(configManager.getPrefixedMessage("errors.unknown-command",
                     "{command}", subCommand,
@@ -92,13 +117,14 @@ public class AuctionCommand implements CommandExecutor {
             return;
         }
 
-        if (price < configManager.getConfig().getDouble("auction.min-price", 1.0)) {
-             player.sendMessage(configManager.getPrefixedMessage("errors.price-too-low", "{min}", String.valueOf(configManager.getConfig().getDouble("auction.min-price", 1.0))));
+        AuctionSettings settings = configManager.getSettings();
+        if (price < settings.minPrice()) {
+             player.sendMessage(configManager.getPrefixedMessage("errors.price-too-low", "{min}", String.valueOf(settings.minPrice())));
              return;
         }
 
         Double buyNow = args.length > 2 ? Double.parseDouble(args[2]) : null;
-        String durationStr = args.length > 3 ? args[3] : configManager.getConfig().getString("auction.defaults.duration", "24h");
+        String durationStr = args.length > 3 ? args[3] : settings.defaultDuration();
 
         long durationMillis = DurationParser.parse(durationStr).orElse(0L);
         if (durationMillis <= 0) {
@@ -106,7 +132,7 @@ public class AuctionCommand implements CommandExecutor {
             return;
         }
 
-        int maxAuctions = configManager.getConfig().getInt("auction.max-auctions-per-player", 5);
+        int maxAuctions = settings.maxAuctionsPerPlayer();
         auctionService.getPlayerActiveAuctionCount(player.getUniqueId()).thenAccept(count -> {
             if (count >= maxAuctions) {
                 player.sendMessage(configManager.getPrefixedMessage("errors.listing-limit-reached", "{limit}", String.valueOf(maxAuctions)));
@@ -132,7 +158,10 @@ public class AuctionCommand implements CommandExecutor {
             player.sendMessage(configManager.getPrefixedMessage("errors.no-permission"));
             return;
         }
-        configManager.loadConfigs();
+        if (!configManager.loadConfigs()) {
+            player.sendMessage(configManager.getPrefixedMessage("errors.reload-fail"));
+            return;
+        }
         player.sendMessage(configManager.getPrefixedMessage("info.reload-success"));
     }
 
@@ -148,7 +177,7 @@ public class AuctionCommand implements CommandExecutor {
         }
 
         String searchQuery = String.join(" ", java.util.Arrays.copyOfRange(args, 1, args.length));
-        new MainAuctionGui(plugin, player, 1, SortOrder.NEWEST, searchQuery).open();
+        new MainAuctionGui(plugin, player, 1, SortOrder.RELEVANCE, searchQuery).open();
     }
 
     private void handleNotify(Player player, String[] args) {
@@ -194,6 +223,127 @@ public class AuctionCommand implements CommandExecutor {
         }
     }
 
+    private void handleStats(Player player) {
+        if (!player.hasPermission("playerauctions.admin")) {
+            player.sendMessage(configManager.getPrefixedMessage("errors.no-permission"));
+            return;
+        }
+
+        player.sendMessage("§6§lPlayerAuctions Stats");
+        player.sendMessage("§7─────────────────────────");
+
+        long hits = plugin.getConnectionManager().getStatementCacheHits();
+        long misses = plugin.getConnectionManager().getStatementCacheMisses();
+        player.sendMessage("§eStatement cache: §f" + hits + " hits§7, §f" + misses + " misses §7(" + formatRatio(hits, misses) + ")");
+
+        CacheStats items = ItemCodecCache.stats();
+        player.sendMessage("§eDecoded item cache: §f" + items.hitCount() + " hits§7, §f" + items.missCount() + " misses §7("
+            + formatRatio(items.hitCount(), items.missCount()) + ", " + ItemCodecCache.size() + " items, " + items.evictionCount() + " evicted)");
+
+        ListingRenderCache renders = plugin.getListingRenderCache();
+        player.sendMessage("§eListing render cache: §f" + renders.getHits() + " hits§7, §f" + renders.getMisses() + " misses §7("
+            + formatRatio(renders.getHits(), renders.getMisses()) + ", " + renders.size() + " listings)");
+        ViewerRegistry viewers = plugin.getViewerRegistry();
+        player.sendMessage("§eLive GUI updates: §f" + viewers.getPatchedSlots() + " slots patched§7, §f" + viewers.getWatchedAuctions() + " listings on screen");
+
+        CachingEconomyService economy = plugin.getEconomyRouter().getCachingService();
+        if (economy != null) {
+            CacheStats balances = economy.stats();
+            player.sendMessage("§eBalance cache: §f" + balances.hitCount() + " hits§7, §f" + balances.missCount() + " misses §7("
+                + formatRatio(balances.hitCount(), balances.missCount()) + ")");
+            player.sendMessage(String.format("§eEconomy provider: §f%d calls§7, §f%.2f ms§7 average", economy.getProviderCalls(), economy.getAverageProviderMillis()));
+        }
+        EconomyExecutor economyExecutor = plugin.getEconomyRouter().getEconomyExecutor();
+        if (economyExecutor != null) {
+            player.sendMessage("§eEconomy queue: §f" + economyExecutor.getActiveCalls() + " running§7, §f" + economyExecutor.getQueueDepth() + " queued§7, §f"
+                + economyExecutor.getTimeouts() + " timed out§7, §f" + economyExecutor.getRejected() + " rejected");
+            player.sendMessage("§eEconomy circuit: §f" + economyExecutor.getBreaker().getState() + " §7(opened " + economyExecutor.getBreaker().getTimesOpened() + " times)");
+        }
+
+        player.sendMessage("§7─────────────────────────");
+    }
+
+    private void handleBenchmark(Player player, String[] args) {
+        if (!player.hasPermission("playerauctions.admin")) {
+            player.sendMessage(configManager.getPrefixedMessage("errors.no-permission"));
+            return;
+        }
+
+        String target = args.length >= 2 ? args[1].toLowerCase() : "";
+        switch (target) {
+            case "codec" -> benchmarkCodecs(player);
+            case "dispatch" -> benchmarkDispatch(player, args);
+            case "messages" -> benchmarkMessages(player);
+            default -> player.sendMessage("§cUsage: /ah benchmark <codec|dispatch [guis]|messages>");
+        }
+    }
+
+    private void benchmarkCodecs(Player player) {
+        List<ItemStack> items = new ArrayList<>();
+        for (ItemStack item : player.getInventory().getContents()) {
+            if (item != null && !item.getType().isAir()) {
+                items.add(item.clone());
+            }
+        }
+        if (items.isEmpty()) {
+            player.sendMessage("§cFill your inventory with the items to measure, e.g. enchanted gear and shulker boxes.");
+            return;
+        }
+
+        player.sendMessage("§7Benchmarking item codecs on " + items.size() + " items...");
+        CompletableFuture.supplyAsync(() -> CodecBenchmark.run(items, 200), plugin.getAsyncExecutor())
+            .thenAccept(results -> plugin.getServer().getScheduler().runTask(plugin, () -> {
+                player.sendMessage("§6§lItem Codec Benchmark");
+                player.sendMessage("§7─────────────────────────");
+                for (CodecBenchmark.Result result : results) {
+                    String current = result.codec() == SerializedItem.getCodec() ? " §a(current)" : "";
+                    player.sendMessage(String.format("§e%s%s§7: §f%.1f µs§7 encode, §f%.1f µs§7 decode, §f%.0f§7 bytes/item",
+                        result.codec().name(), current, result.encodeMicros(), result.decodeMicros(), result.bytesPerItem()));
+                }
+                player.sendMessage("§7─────────────────────────");
+            }));
+    }
+
+    private void benchmarkDispatch(Player player, String[] args) {
+        int guis = 300;
+        if (args.length >= 3) {
+            try {
+                guis = Math.max(1, Math.min(5000, Integer.parseInt(args[2])));
+            } catch (NumberFormatException e) {
+                player.sendMessage(configManager.getPrefixedMessage("errors.not-a-number"));
+                return;
+            }
+        }
+
+        // Event dispatch is main-thread work, so measure it there
+        DispatchBenchmark.Result result = DispatchBenchmark.run(plugin, guis, 10000);
+        player.sendMessage("§6§lGUI Click Dispatch Benchmark §7(" + result.guis() + " GUIs open)");
+        player.sendMessage("§7─────────────────────────");
+        player.sendMessage(String.format("§eListener per GUI§7: §f%.2f µs§7 per click, §f%.1f µs§7 to register and unregister each GUI",
+            result.perGuiMicros(), result.registerMicros()));
+        player.sendMessage(String.format("§eSingle dispatcher §a(current)§7: §f%.2f µs§7 per click", result.dispatcherMicros()));
+        player.sendMessage("§7─────────────────────────");
+    }
+
+    private void benchmarkMessages(Player player) {
+        player.sendMessage("§7Benchmarking message rendering on " + configManager.getTemplates().size() + " messages...");
+        CompletableFuture.supplyAsync(() -> MessageBenchmark.run(configManager, 2000), plugin.getAsyncExecutor())
+            .thenAccept(results -> plugin.getServer().getScheduler().runTask(plugin, () -> {
+                player.sendMessage("§6§lMessage Rendering Benchmark");
+                player.sendMessage("§7─────────────────────────");
+                for (MessageBenchmark.Result result : results) {
+                    String allocated = result.bytesPerMessage() < 0 ? "" : String.format(", §f%.0f§7 bytes allocated", result.bytesPerMessage());
+                    player.sendMessage(String.format("§e%s§7: §f%.0f ns§7 per message%s", result.name(), result.nanosPerMessage(), allocated));
+                }
+                player.sendMessage("§7─────────────────────────");
+            }));
+    }
+
+    private String formatRatio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? "n/a" : String.format("%.1f%% hit rate", hits * 100.0 / total);
+    }
+
     private void handleHelp(Player player) {
         if (!player.hasPermission("playerauctions.use")) {
             player.sendMessage(configManager.getPrefixedMessage("errors.no-permission"));
@@ -218,6 +368,7 @@ public class AuctionCommand implements CommandExecutor {
         if (player.hasPermission("playerauctions.use")) {
             player.sendMessage("§e/ah listings §7- View your auction listings");
             player.sendMessage("§e/ah myauctions §7- View your auction listings");
+            player.sendMessage("§e/ah mailbox §7- Claim items and money waiting for you");
         }
 
         if (player.hasPermission("playerauctions.notify")) {
@@ -232,6 +383,13 @@ public class AuctionCommand implements CommandExecutor {
             player.sendMessage("§e/ah reload §7- Reload plugin configuration");
         }
 
+        if (player.hasPermission("playerauctions.admin")) {
+            player.sendMessage("§e/ah stats §7- Show cache and performance statistics");
+            player.sendMessage("§e/ah benchmark codec §7- Compare item codecs on your inventory");
+            player.sendMessage("§e/ah benchmark dispatch [guis] §7- Measure GUI click dispatch with many GUIs open");
+            player.sendMessage("§e/ah benchmark messages §7- Compare compiled and per-send message rendering");
+        }
+
         player.sendMessage("§7─────────────────────────");
         player.sendMessage("§6Aliases: §f/ah, /auction, /auctionhouse");
     }
@@ -43,11 +43,16 @@ public class AuctionTabCompleter implements TabCompleter {
             if (sender.hasPermission("playerauctions.reload")) {
                 completions.add("reload");
             }
+            if (sender.hasPermission("playerauctions.admin")) {
+                completions.add("stats");
+                completions.add("benchmark");
+            }
 
             // Add alternative commands
             if (sender.hasPermission("playerauctions.use")) {
                 completions.add("listings");
                 completions.add("myauctions");
+                completions.add("mailbox");
             }
         } else if (args.length == 2) {
             String subcommand = args[0].toLowerCase();
@@ -73,6 +78,14 @@ public class AuctionTabCompleter implements TabCompleter {
                     }
                     break;
 
+                case "benchmark":
+                    if (sender.hasPermission("playerauctions.admin")) {
+                        completions.add("codec");
+                        completions.add("dispatch");
+                        completions.add("messages");
+                    }
+                    break;
+
                 case "history":
                     if (sender.hasPermission("playerauctions.history.others")) {
                         // Add online player names
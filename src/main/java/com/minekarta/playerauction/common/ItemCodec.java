@@ -0,0 +1,184 @@
+package com.minekarta.playerauction.common;
+
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.io.BukkitObjectInputStream;
+import org.bukkit.util.io.BukkitObjectOutputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The binary formats an item can be stored in.
+ * <p>
+ * Encoded data starts with a one-byte header naming the codec, followed by the codec's payload. Data written
+ * before codecs existed is a bare Java serialization stream, whose magic number ({@code 0xACED}) can never be
+ * mistaken for a header, so it stays readable forever.
+ */
+public enum ItemCodec {
+
+    /**
+     * Bukkit object serialization, the format the plugin has always used.
+     */
+    JAVA((byte) 1) {
+        @Override
+        byte[] encodePayload(ItemStack item) throws IOException {
+            ByteArrayOutputStream os = new ByteArrayOutputStream();
+            writeJava(item, os);
+            return os.toByteArray();
+        }
+
+        @Override
+        ItemStack decodePayload(byte[] payload, int offset) throws IOException {
+            return readJava(new ByteArrayInputStream(payload, offset, payload.length - offset));
+        }
+    },
+
+    /**
+     * Bukkit object serialization, deflated. Shrinks the repetitive class and field names of the stream.
+     */
+    JAVA_DEFLATE((byte) 2) {
+        @Override
+        byte[] encodePayload(ItemStack item) throws IOException {
+            ByteArrayOutputStream os = new ByteArrayOutputStream();
+            try (DeflaterOutputStream deflater = new DeflaterOutputStream(os, new Deflater(Deflater.BEST_SPEED))) {
+                writeJava(item, deflater);
+            }
+            return os.toByteArray();
+        }
+
+        @Override
+        ItemStack decodePayload(byte[] payload, int offset) throws IOException {
+            return readJava(new InflaterInputStream(new ByteArrayInputStream(payload, offset, payload.length - offset)));
+        }
+    },
+
+    /**
+     * Paper's native item format: compressed NBT with data version upgrades, far smaller and faster than
+     * Java serialization. Only available on Paper servers.
+     */
+    PAPER((byte) 3) {
+        @Override
+        byte[] encodePayload(ItemStack item) {
+            return item.serializeAsBytes();
+        }
+
+        @Override
+        ItemStack decodePayload(byte[] payload, int offset) {
+            byte[] bytes = new byte[payload.length - offset];
+            System.arraycopy(payload, offset, bytes, 0, bytes.length);
+            return ItemStack.deserializeBytes(bytes);
+        }
+
+        @Override
+        public boolean isAvailable() {
+            return PAPER_AVAILABLE;
+        }
+    };
+
+    private static final byte JAVA_STREAM_MAGIC = (byte) 0xAC;
+    private static final boolean PAPER_AVAILABLE = hasPaperSerialization();
+
+    private final byte header;
+
+    ItemCodec(byte header) {
+        this.header = header;
+    }
+
+    abstract byte[] encodePayload(ItemStack item) throws IOException;
+
+    abstract ItemStack decodePayload(byte[] payload, int offset) throws IOException;
+
+    public boolean isAvailable() {
+        return true;
+    }
+
+    /**
+     * @return The item encoded with this codec, header included.
+     */
+    public byte[] encode(ItemStack item) {
+        try {
+            byte[] payload = encodePayload(item);
+            byte[] data = new byte[payload.length + 1];
+            data[0] = header;
+            System.arraycopy(payload, 0, data, 1, payload.length);
+            return data;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize ItemStack", e);
+        }
+    }
+
+    /**
+     * Decodes data written by any codec, or by the plugin before codecs existed.
+     */
+    public static ItemStack decode(byte[] data) {
+        try {
+            if (data[0] == JAVA_STREAM_MAGIC) {
+                return readJava(new ByteArrayInputStream(data));
+            }
+            return byHeader(data[0]).decodePayload(data, 1);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not deserialize ItemStack", e);
+        }
+    }
+
+    /**
+     * @return The codec that wrote {@code data}, or null for the legacy headerless format.
+     */
+    public static ItemCodec of(byte[] data) {
+        return data.length == 0 || data[0] == JAVA_STREAM_MAGIC ? null : byHeader(data[0]);
+    }
+
+    /**
+     * Resolves a configured codec name. {@code AUTO} picks {@link #PAPER} when the server supports it;
+     * an unavailable or unknown choice falls back to {@link #JAVA_DEFLATE}.
+     */
+    public static ItemCodec fromConfig(String name) {
+        if (name != null && !name.equalsIgnoreCase("AUTO")) {
+            for (ItemCodec codec : values()) {
+                if (codec.name().equalsIgnoreCase(name) && codec.isAvailable()) {
+                    return codec;
+                }
+            }
+        }
+        return PAPER.isAvailable() ? PAPER : JAVA_DEFLATE;
+    }
+
+    private static ItemCodec byHeader(byte header) {
+        for (ItemCodec codec : values()) {
+            if (codec.header == header) {
+                return codec;
+            }
+        }
+        throw new IllegalStateException("Unknown item codec header " + header);
+    }
+
+    private static void writeJava(ItemStack item, OutputStream os) throws IOException {
+        try (BukkitObjectOutputStream oos = new BukkitObjectOutputStream(os)) {
+            oos.writeObject(item);
+        }
+    }
+
+    private static ItemStack readJava(InputStream is) throws IOException {
+        try (BukkitObjectInputStream ois = new BukkitObjectInputStream(is)) {
+            return (ItemStack) ois.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static boolean hasPaperSerialization() {
+        try {
+            ItemStack.class.getMethod("serializeAsBytes");
+            ItemStack.class.getMethod("deserializeBytes", byte[].class);
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
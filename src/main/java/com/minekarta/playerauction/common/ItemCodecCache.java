@@ -0,0 +1,70 @@
+package com.minekarta.playerauction.common;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.bukkit.inventory.ItemStack;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+/**
+ * A bounded cache of decoded items shared by every {@link SerializedItem}.
+ * <p>
+ * Decoding is the most expensive thing done with an item, and the same listing is decoded for every GUI slot
+ * render, purchase and log line. Entries are keyed by the encoded bytes themselves, so a listing and the
+ * transaction snapshot of the same item share one entry no matter which row or record they were loaded from.
+ * The cache is bounded by the total size of the encoded data it holds, which tracks the memory a decoded
+ * item needs far better than an entry count. Callers always receive a clone and may modify it freely.
+ */
+public final class ItemCodecCache {
+
+    private static final long DEFAULT_MAX_WEIGHT = 16L * 1024 * 1024;
+
+    private static volatile Cache<ByteBuffer, ItemStack> cache = build(DEFAULT_MAX_WEIGHT);
+
+    private ItemCodecCache() {}
+
+    /**
+     * Replaces the cache with an empty one bounded to roughly {@code maxWeight} bytes of encoded data.
+     */
+    public static void configure(long maxWeight) {
+        cache = build(Math.max(0, maxWeight));
+    }
+
+    private static Cache<ByteBuffer, ItemStack> build(long maxWeight) {
+        return CacheBuilder.newBuilder()
+            .maximumWeight(maxWeight)
+            .weigher((ByteBuffer data, ItemStack item) -> data.remaining())
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * @return A private copy of the item {@code data} decodes to, decoding it only if it is not cached.
+     */
+    static ItemStack get(byte[] data, Function<byte[], ItemStack> decoder) {
+        try {
+            // The wrapper compares and hashes by content; the array is never modified
+            return cache.get(ByteBuffer.wrap(data), () -> decoder.apply(data)).clone();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not deserialize ItemStack", e.getCause());
+        } catch (UncheckedExecutionException e) {
+            // The decoder threw an unchecked exception; rethrow it as callers would see it without the cache
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Could not deserialize ItemStack", e.getCause());
+        }
+    }
+
+    public static CacheStats stats() {
+        return cache.stats();
+    }
+
+    public static long size() {
+        return cache.size();
+    }
+}
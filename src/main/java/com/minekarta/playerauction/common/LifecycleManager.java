@@ -0,0 +1,114 @@
+package com.minekarta.playerauction.common;
+
+import com.minekarta.playerauction.storage.sqlite.SQLiteConnectionManager;
+import com.minekarta.playerauction.transaction.TransactionLogger;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Logger;
+
+/**
+ * Tracks the auction operations in flight and shuts the plugin down without losing them.
+ * <p>
+ * On shutdown it stops accepting new operations, waits for the ones in flight, flushes the transaction log,
+ * lets the writer finish every queued write, and only then closes the database, all within one deadline.
+ * Whatever is still pending when the deadline passes is abandoned and counted; interrupted purchases are
+ * picked up by the settlement journal on the next start.
+ */
+public class LifecycleManager {
+
+    private final Logger logger;
+    private final ExecutorService asyncExecutor;
+    private final SQLiteConnectionManager connections;
+    private final TransactionLogger transactionLogger;
+    private final Set<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet();
+    private volatile boolean accepting = true;
+
+    public LifecycleManager(Logger logger, ExecutorService asyncExecutor, SQLiteConnectionManager connections, TransactionLogger transactionLogger) {
+        this.logger = logger;
+        this.asyncExecutor = asyncExecutor;
+        this.connections = connections;
+        this.transactionLogger = transactionLogger;
+    }
+
+    /**
+     * @return False once shutdown has begun; callers should refuse new operations.
+     */
+    public boolean isAccepting() {
+        return accepting;
+    }
+
+    /**
+     * Registers an operation so shutdown waits for it.
+     * <p>
+     * Shutdown waits on the main thread, so a tracked operation must complete once its storage writes are
+     * done and must never wait on a main-thread task: such a task cannot run until shutdown gives up. Hand
+     * items or messages over to players after the tracked part, without making it wait.
+     */
+    public <T> CompletableFuture<T> track(CompletableFuture<T> operation) {
+        if (!operation.isDone()) {
+            inFlight.add(operation);
+            operation.whenComplete((v, ex) -> inFlight.remove(operation));
+        }
+        return operation;
+    }
+
+    /**
+     * Drains everything in flight and closes the database, giving up on whatever is left after
+     * {@code timeoutMillis}. Blocks the calling thread; only call from {@code onDisable}.
+     */
+    public void shutdown(long timeoutMillis) {
+        accepting = false;
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+
+        List<CompletableFuture<?>> operations = List.copyOf(inFlight);
+        awaitOperations(operations, deadline);
+        int abandonedOperations = inFlight.size();
+        int drainedOperations = operations.size() - abandonedOperations;
+
+        int abandonedLogs = transactionLogger.close(remaining(deadline));
+
+        int queuedWrites = connections.getPendingWrites();
+        int abandonedWrites = connections.drainWrites(remaining(deadline));
+
+        asyncExecutor.shutdown();
+        int abandonedTasks = 0;
+        try {
+            if (!asyncExecutor.awaitTermination(remaining(deadline), TimeUnit.MILLISECONDS)) {
+                abandonedTasks = asyncExecutor.shutdownNow().size();
+            }
+        } catch (InterruptedException e) {
+            abandonedTasks = asyncExecutor.shutdownNow().size();
+            Thread.currentThread().interrupt();
+        }
+
+        connections.close();
+
+        logger.info("Drained " + drainedOperations + " auction operations and " + (queuedWrites - abandonedWrites) + " queued writes.");
+        if (abandonedOperations > 0 || abandonedLogs > 0 || abandonedWrites > 0 || abandonedTasks > 0) {
+            logger.warning("Shutdown deadline passed; abandoned " + abandonedOperations + " auction operations, "
+                    + abandonedLogs + " transaction log entries, " + abandonedWrites + " queued writes and "
+                    + abandonedTasks + " background tasks.");
+        }
+    }
+
+    private void awaitOperations(List<CompletableFuture<?>> operations, long deadline) {
+        try {
+            CompletableFuture.allOf(operations.toArray(new CompletableFuture[0])).get(remaining(deadline), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // Failed operations are done; the rest are counted as abandoned
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long remaining(long deadline) {
+        return Math.max(0, deadline - System.currentTimeMillis());
+    }
+}
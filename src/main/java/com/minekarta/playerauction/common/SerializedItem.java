@@ -1,63 +1,80 @@
 package com.minekarta.playerauction.common;
 
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.util.io.BukkitObjectInputStream;
-import org.bukkit.util.io.BukkitObjectOutputStream;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.util.Base64;
 import java.io.Serializable;
+import java.util.Base64;
 
+/**
+ * An item in its stored, encoded form.
+ * <p>
+ * New items are encoded with the codec chosen by {@link #useCodec}; items stored in any earlier format,
+ * including the original headerless Base64 Java serialization, remain decodable. See {@link ItemCodec}.
+ */
 public final class SerializedItem implements Serializable {
-    private final String data;
 
-    private SerializedItem(String data) {
+    private static volatile ItemCodec codec = ItemCodec.JAVA;
+
+    private final byte[] data;
+
+    private SerializedItem(byte[] data) {
         this.data = data;
     }
 
-    public String getBase64() {
+    /**
+     * Sets the codec newly serialized items are written with.
+     */
+    public static void useCodec(ItemCodec itemCodec) {
+        codec = itemCodec;
+    }
+
+    public static ItemCodec getCodec() {
+        return codec;
+    }
+
+    /**
+     * @return The encoded item as raw bytes, or null if there is no item. Must not be modified.
+     */
+    public byte[] getBytes() {
         return data;
     }
 
+    /**
+     * @return The encoded item as Base64 text, for columns that store text.
+     */
+    public String getBase64() {
+        return data == null ? null : Base64.getEncoder().encodeToString(data);
+    }
+
+    /**
+     * Decodes the item, served from {@link ItemCodecCache} when this item was decoded before.
+     * @return A fresh copy the caller may modify, or null if there is no item.
+     */
     public ItemStack toItemStack() {
-        if (data == null || data.isEmpty()) {
+        if (data == null || data.length == 0) {
             return null;
         }
-        try {
-            byte[] bytes = Base64.getDecoder().decode(data);
-            try (ByteArrayInputStream is = new ByteArrayInputStream(bytes);
-                 BukkitObjectInputStream ois = new BukkitObjectInputStream(is)) {
-                return (ItemStack) ois.readObject();
-            }
-        } catch (IOException | ClassNotFoundException e) {
-            throw new IllegalStateException("Could not deserialize ItemStack", e);
-        }
+        return ItemCodecCache.get(data, ItemCodec::decode);
     }
 
     public static SerializedItem fromItemStack(ItemStack itemStack) {
         if (itemStack == null) {
             return new SerializedItem(null);
         }
-        try {
-            try (ByteArrayOutputStream os = new ByteArrayOutputStream();
-                 BukkitObjectOutputStream oos = new BukkitObjectOutputStream(os)) {
-                oos.writeObject(itemStack);
-                return new SerializedItem(Base64.getEncoder().encodeToString(os.toByteArray()));
-            }
-        } catch (IOException e) {
-            throw new IllegalStateException("Could not serialize ItemStack", e);
-        }
+        return new SerializedItem(codec.encode(itemStack));
+    }
+
+    public static SerializedItem fromBytes(byte[] bytes) {
+        return new SerializedItem(bytes);
     }
 
     public static SerializedItem fromBase64(String base64) {
-        return new SerializedItem(base64);
+        return new SerializedItem(base64 == null || base64.isEmpty() ? null : Base64.getDecoder().decode(base64));
     }
 
     @Override
     public String toString() {
-        // Avoid logging potentially huge base64 string
+        // Avoid logging potentially huge item data
         return "SerializedItem{data='...'}";
     }
 }
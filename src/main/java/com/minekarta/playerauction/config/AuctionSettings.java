@@ -0,0 +1,112 @@
+package com.minekarta.playerauction.config;
+
+import com.minekarta.playerauction.util.DurationParser;
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+/**
+ * The settings read on hot paths, parsed and validated once from config.yml. Immutable, so a reload swaps in
+ * a whole new snapshot and readers always see one consistent configuration.
+ */
+public record AuctionSettings(
+    int maxAuctionsPerPlayer,
+    String defaultDuration,
+    double minPrice,
+    double taxPercentage,
+    Notifications notifications,
+    boolean mailboxEnabled,
+    int mailboxDeliveryBatchSize,
+    Gui gui
+) {
+
+    /**
+     * @param methods            Lower-case names of the ways players are notified: chat, actionbar, title and sound.
+     * @param digestWindowMillis How long a player's notifications are collected before they are sent as one digest.
+     */
+    public record Notifications(List<String> methods, String sound, float volume, float pitch, long digestWindowMillis) {}
+
+    /**
+     * @param mainTitle   The main GUI's title, colour codes translated.
+     * @param borderLore  Colour codes untranslated, as GUI items translate them.
+     */
+    public record Gui(String mainTitle, boolean borderEnabled, Material borderMaterial, String borderName, List<String> borderLore) {}
+
+    private static final List<String> NOTIFICATION_METHODS = List.of("chat", "actionbar", "title", "sound");
+
+    /**
+     * Reads the settings from {@code config}, logging and replacing invalid values with their defaults.
+     */
+    public static AuctionSettings load(FileConfiguration config, Logger logger) {
+        int maxAuctions = config.getInt("auction.max-auctions-per-player", 5);
+        if (maxAuctions < 0) {
+            logger.warning("auction.max-auctions-per-player must not be negative; using 5.");
+            maxAuctions = 5;
+        }
+
+        String defaultDuration = config.getString("auction.defaults.duration", "24h");
+        if (DurationParser.parse(defaultDuration).orElse(0L) <= 0) {
+            logger.warning("auction.defaults.duration '" + defaultDuration + "' is not a valid duration; using 24h.");
+            defaultDuration = "24h";
+        }
+
+        double minPrice = config.getDouble("auction.min-price", 1.0);
+        if (minPrice < 0) {
+            logger.warning("auction.min-price must not be negative; using 0.");
+            minPrice = 0;
+        }
+
+        double tax = config.getDouble("auction.tax-percentage", 0);
+        if (tax < 0 || tax > 100) {
+            logger.warning("auction.tax-percentage must be between 0 and 100; using " + (tax < 0 ? 0 : 100) + ".");
+            tax = tax < 0 ? 0 : 100;
+        }
+
+        List<String> methods = new ArrayList<>();
+        for (String method : config.getStringList("auction.notification-methods")) {
+            String normalized = method.toLowerCase(Locale.ROOT);
+            if (NOTIFICATION_METHODS.contains(normalized)) {
+                methods.add(normalized);
+            } else {
+                logger.warning("Unknown notification method '" + method + "' in auction.notification-methods; ignoring it.");
+            }
+        }
+        Notifications notifications = new Notifications(
+            List.copyOf(methods),
+            config.getString("auction.notification-sound", "BLOCK_NOTE_BLOCK_PLING"),
+            (float) config.getDouble("auction.notification-sound-volume", 1.0),
+            (float) config.getDouble("auction.notification-sound-pitch", 1.0),
+            Math.max(0, config.getLong("auction.notification-digest-window-ms", 1000))
+        );
+
+        String materialName = config.getString("gui.border.material", "BLACK_STAINED_GLASS_PANE");
+        Material borderMaterial = Material.getMaterial(materialName);
+        if (borderMaterial == null) {
+            logger.warning("gui.border.material '" + materialName + "' is not a material; using BLACK_STAINED_GLASS_PANE.");
+            borderMaterial = Material.BLACK_STAINED_GLASS_PANE;
+        }
+        Gui gui = new Gui(
+            ChatColor.translateAlternateColorCodes('&', config.getString("gui.title-main", "&6PlayerAuctions")),
+            config.getBoolean("gui.border.enabled", true),
+            borderMaterial,
+            config.getString("gui.border.name", " "),
+            List.copyOf(config.getStringList("gui.border.lore"))
+        );
+
+        return new AuctionSettings(
+            maxAuctions,
+            defaultDuration,
+            minPrice,
+            tax,
+            notifications,
+            config.getBoolean("mailbox.enabled", true),
+            Math.max(1, config.getInt("mailbox.delivery-batch-size", 9)),
+            gui
+        );
+    }
+}
@@ -1,62 +1,118 @@
 package com.minekarta.playerauction.config;
 
 import org.bukkit.ChatColor;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 
 public class ConfigManager {
 
+    /**
+     * Everything loaded from the configuration files, published as one unit so a reload is atomic.
+     */
+    private record Snapshot(FileConfiguration config, FileConfiguration messages, AuctionSettings settings,
+                            Map<String, MessageTemplate> templates, String prefix) {
+
+        static Snapshot of(FileConfiguration config, FileConfiguration messages, AuctionSettings settings) {
+            Map<String, MessageTemplate> templates = new HashMap<>();
+            for (String path : messages.getKeys(true)) {
+                if (messages.isString(path)) {
+                    templates.put(path, MessageTemplate.compile(messages.getString(path)));
+                }
+            }
+            String prefix = ChatColor.translateAlternateColorCodes('&', messages.getString("prefix", "&7[&6KAH&7] "));
+            return new Snapshot(config, messages, settings, Map.copyOf(templates), prefix);
+        }
+    }
+
     private final JavaPlugin plugin;
-    private FileConfiguration config;
-    private FileConfiguration messages;
+    private volatile Snapshot snapshot;
 
     public ConfigManager(JavaPlugin plugin) {
         this.plugin = plugin;
         loadConfigs();
     }
 
-    public void loadConfigs() {
-        config = loadConfig("config.yml");
-        messages = loadConfig("messages.yml");
+    /**
+     * Loads the configuration files and swaps them in at once. If a file cannot be parsed, the configuration
+     * already loaded stays in effect.
+     * @return Whether the files were loaded.
+     */
+    public boolean loadConfigs() {
+        try {
+            FileConfiguration config = loadConfig("config.yml");
+            FileConfiguration messages = loadConfig("messages.yml");
+            snapshot = Snapshot.of(config, messages, AuctionSettings.load(config, plugin.getLogger()));
+            return true;
+        } catch (IOException | InvalidConfigurationException e) {
+            plugin.getLogger().severe("Failed to load the configuration files.");
+            e.printStackTrace();
+            if (snapshot == null) {
+                // Nothing to keep on the first load, so run on the defaults
+                FileConfiguration empty = new YamlConfiguration();
+                snapshot = Snapshot.of(empty, new YamlConfiguration(), AuctionSettings.load(empty, plugin.getLogger()));
+            }
+            return false;
+        }
     }
 
-    private FileConfiguration loadConfig(String fileName) {
+    private FileConfiguration loadConfig(String fileName) throws IOException, InvalidConfigurationException {
         File file = new File(plugin.getDataFolder(), fileName);
         if (!file.exists()) {
             plugin.saveResource(fileName, false);
         }
-        return YamlConfiguration.loadConfiguration(file);
+        YamlConfiguration config = new YamlConfiguration();
+        config.load(file);
+        return config;
     }
 
     public FileConfiguration getConfig() {
-        return config;
+        return snapshot.config();
     }
 
     public FileConfiguration getMessages() {
-        return messages;
+        return snapshot.messages();
     }
 
-    public String getMessage(String path, String... replacements) {
-        String message = messages.getString(path, "&cMissing message: " + path);
-        for (int i = 0; i < replacements.length; i += 2) {
-            if (i + 1 < replacements.length) {
-                String placeholder = replacements[i];
-                String value = replacements[i + 1];
-                if (placeholder != null && value != null) {
-                    message = message.replace(placeholder, value);
-                }
-            }
+    /**
+     * @return The typed settings of the configuration currently in effect.
+     */
+    public AuctionSettings getSettings() {
+        return snapshot.settings();
+    }
+
+    /**
+     * @return The compiled message at {@code path}, or a placeholder message naming the path if there is none.
+     */
+    public MessageTemplate getTemplate(String path) {
+        MessageTemplate template = snapshot.templates().get(path);
+        if (template == null) {
+            template = MessageTemplate.compile(getMessages().getString(path, "&cMissing message: " + path));
         }
-        return ChatColor.translateAlternateColorCodes('&', message);
+        return template;
+    }
+
+    /**
+     * @return Every message in messages.yml, compiled, by path.
+     */
+    public Map<String, MessageTemplate> getTemplates() {
+        return snapshot.templates();
+    }
+
+    public String getMessage(String path, String... replacements) {
+        return getTemplate(path).render(replacements);
     }
 
     public String getPrefixedMessage(String path, String... replacements) {
-        String prefix = messages.getString("prefix", "&7[&6KAH&7] ");
-        String message = getMessage(path, replacements);
-        return ChatColor.translateAlternateColorCodes('&', prefix) + message;
+        Snapshot current = snapshot;
+        MessageTemplate template = current.templates().get(path);
+        return (template != null ? template : getTemplate(path)).render(current.prefix(), replacements);
     }
 
     /**
@@ -0,0 +1,112 @@
+package com.minekarta.playerauction.config;
+
+import org.bukkit.ChatColor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A message from messages.yml compiled once into literal runs, with colour codes already translated, and the
+ * placeholder slots between them. Rendering fills the slots in a single pass into one builder.
+ * <p>
+ * Placeholders are written {@code {name}} or {@code %name%}. Values are inserted as given, so colour codes in
+ * them, e.g. in an item name or a search term, are not translated. Placeholders without a value are left in
+ * the message as written.
+ */
+public final class MessageTemplate {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{[A-Za-z0-9_-]+}|%[A-Za-z0-9_-]+%");
+
+    // literals[i] comes before placeholders[i]; the last literal ends the message
+    private final String[] literals;
+    private final String[] placeholders;
+    private final int literalLength;
+
+    private MessageTemplate(String[] literals, String[] placeholders) {
+        this.literals = literals;
+        this.placeholders = placeholders;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static MessageTemplate compile(String message) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        Matcher matcher = PLACEHOLDER.matcher(message);
+        int start = 0;
+        while (matcher.find()) {
+            literals.add(translate(message.substring(start, matcher.start())));
+            placeholders.add(matcher.group());
+            start = matcher.end();
+        }
+        literals.add(translate(message.substring(start)));
+        return new MessageTemplate(literals.toArray(new String[0]), placeholders.toArray(new String[0]));
+    }
+
+    private static String translate(String text) {
+        return ChatColor.translateAlternateColorCodes('&', text);
+    }
+
+    /**
+     * @param replacements Alternating placeholders, as written in the message, and their values.
+     */
+    public String render(String... replacements) {
+        return render("", replacements);
+    }
+
+    /**
+     * @param prefix       Already translated text to put before the message, e.g. the chat prefix.
+     * @param replacements Alternating placeholders, as written in the message, and their values.
+     */
+    public String render(String prefix, String... replacements) {
+        if (placeholders.length == 0 && prefix.isEmpty()) {
+            return literals[0];
+        }
+        StringBuilder builder = new StringBuilder(prefix.length() + literalLength + 16 * placeholders.length);
+        builder.append(prefix);
+        for (int i = 0; i < placeholders.length; i++) {
+            builder.append(literals[i]);
+            builder.append(valueOf(placeholders[i], replacements));
+        }
+        return builder.append(literals[placeholders.length]).toString();
+    }
+
+    /**
+     * @param replacements The values of the placeholders, keyed by the placeholders as written in the message.
+     */
+    public String render(Map<String, String> replacements) {
+        if (placeholders.length == 0) {
+            return literals[0];
+        }
+        StringBuilder builder = new StringBuilder(literalLength + 16 * placeholders.length);
+        for (int i = 0; i < placeholders.length; i++) {
+            builder.append(literals[i]);
+            String value = replacements.get(placeholders[i]);
+            builder.append(value != null ? value : placeholders[i]);
+        }
+        return builder.append(literals[placeholders.length]).toString();
+    }
+
+    private static String valueOf(String placeholder, String[] replacements) {
+        // A handful of pairs at most, so a scan beats building a map
+        for (int i = 0; i + 1 < replacements.length; i += 2) {
+            if (placeholder.equals(replacements[i]) && replacements[i + 1] != null) {
+                return replacements[i + 1];
+            }
+        }
+        return placeholder;
+    }
+
+    /**
+     * @return The placeholders in this message, in order, as written.
+     */
+    public List<String> getPlaceholders() {
+        return List.of(placeholders);
+    }
+}
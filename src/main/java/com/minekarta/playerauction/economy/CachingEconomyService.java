@@ -0,0 +1,141 @@
+package com.minekarta.playerauction.economy;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import org.bukkit.Bukkit;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Wraps the active {@link EconomyService} and answers balance lookups for online players from a short-lived
+ * cache, so GUI renders and affordability checks stop reaching the economy provider.
+ * <p>
+ * Concurrent lookups of the same balance share one provider call. Every withdrawal and deposit made through
+ * this service drops the player's cached balance, and a lookup that was already in flight when the money
+ * moved is not cached. Withdrawals themselves are never answered from the cache, so a stale balance can at
+ * worst show a wrong figure, never let a purchase through.
+ */
+public class CachingEconomyService implements EconomyService {
+
+    private final EconomyService delegate;
+    private final Cache<UUID, Double> balances;
+    private final Map<UUID, CompletableFuture<Double>> loading = new ConcurrentHashMap<>();
+    private final Cache<UUID, Long> changedAt;
+    private final LongAdder providerCalls = new LongAdder();
+    private final LongAdder providerNanos = new LongAdder();
+
+    public CachingEconomyService(EconomyService delegate, long balanceTtlMillis, long maxBalances) {
+        this.delegate = delegate;
+        this.balances = CacheBuilder.newBuilder()
+            .expireAfterWrite(Math.max(0, balanceTtlMillis), TimeUnit.MILLISECONDS)
+            .maximumSize(Math.max(0, maxBalances))
+            .recordStats()
+            .build();
+        // Provider calls finish long before this, so older changes can no longer race a lookup
+        this.changedAt = CacheBuilder.newBuilder()
+            .expireAfterWrite(1, TimeUnit.MINUTES)
+            .build();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> has(UUID player, double amount) {
+        return getBalance(player).thenApply(balance -> balance >= amount);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> withdraw(UUID player, double amount, String reason) {
+        balanceChanged(player);
+        return timed(() -> delegate.withdraw(player, amount, reason)).whenComplete((v, ex) -> balanceChanged(player));
+    }
+
+    @Override
+    public CompletableFuture<Void> deposit(UUID player, double amount, String reason) {
+        balanceChanged(player);
+        return timed(() -> delegate.deposit(player, amount, reason)).whenComplete((v, ex) -> balanceChanged(player));
+    }
+
+    @Override
+    public CompletableFuture<Void> refund(UUID player, double amount, String reason, Runnable onLateSuccess) {
+        balanceChanged(player);
+        return timed(() -> delegate.refund(player, amount, reason, () -> {
+            balanceChanged(player);
+            onLateSuccess.run();
+        })).whenComplete((v, ex) -> balanceChanged(player));
+    }
+
+    @Override
+    public String format(double amount) {
+        return delegate.format(amount);
+    }
+
+    @Override
+    public CompletableFuture<Double> getBalance(UUID player) {
+        Double cached = balances.getIfPresent(player);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<Double> balance = new CompletableFuture<>();
+        CompletableFuture<Double> inFlight = loading.putIfAbsent(player, balance);
+        if (inFlight != null) {
+            return inFlight;
+        }
+        long startedAt = System.nanoTime();
+        timed(() -> delegate.getBalance(player)).whenComplete((value, ex) -> {
+            loading.remove(player, balance);
+            Long changed = changedAt.getIfPresent(player);
+            // Only online players' balances are worth keeping, and never one read before the money last moved
+            if (ex == null && value != null && (changed == null || changed - startedAt < 0) && Bukkit.getPlayer(player) != null) {
+                balances.put(player, value);
+            }
+            if (ex != null) {
+                balance.completeExceptionally(ex);
+            } else {
+                balance.complete(value);
+            }
+        });
+        return balance;
+    }
+
+    private void balanceChanged(UUID player) {
+        changedAt.put(player, System.nanoTime());
+        balances.invalidate(player);
+        // Later lookups must not join one that started before the money moved
+        loading.remove(player);
+    }
+
+    private <T> CompletableFuture<T> timed(Supplier<CompletableFuture<T>> call) {
+        long startedAt = System.nanoTime();
+        return call.get().whenComplete((v, ex) -> {
+            providerCalls.increment();
+            providerNanos.add(System.nanoTime() - startedAt);
+        });
+    }
+
+    public CacheStats stats() {
+        return balances.stats();
+    }
+
+    public long getProviderCalls() {
+        return providerCalls.sum();
+    }
+
+    /**
+     * @return The average time the economy provider took to answer, in milliseconds.
+     */
+    public double getAverageProviderMillis() {
+        long calls = providerCalls.sum();
+        return calls == 0 ? 0 : providerNanos.sum() / 1_000_000.0 / calls;
+    }
+}
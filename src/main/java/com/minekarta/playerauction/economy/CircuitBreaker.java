@@ -0,0 +1,84 @@
+package com.minekarta.playerauction.economy;
+
+import java.util.logging.Logger;
+
+/**
+ * Stops calling a dependency that keeps failing, so callers fail fast instead of queueing behind it.
+ * <p>
+ * After {@code failureThreshold} failures in a row the breaker opens and rejects every call for
+ * {@code openMillis}. It then lets a single trial call through: if that succeeds the breaker closes again,
+ * otherwise it stays open for another period.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final Logger logger;
+    private final int failureThreshold;
+    private final long openMillis;
+    private State state = State.CLOSED;
+    private int consecutiveFailures = 0;
+    private long openedAt = 0;
+    private long timesOpened = 0;
+
+    public CircuitBreaker(String name, Logger logger, int failureThreshold, long openMillis) {
+        this.name = name;
+        this.logger = logger;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = Math.max(0, openMillis);
+    }
+
+    /**
+     * @return True if a call may go through now. While half-open, only the trial call is allowed.
+     */
+    public synchronized boolean allowRequest() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.currentTimeMillis() - openedAt >= openMillis) {
+                    state = State.HALF_OPEN;
+                    return true;
+                }
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @return True if calls are currently being rejected. Unlike {@link #allowRequest()}, never uses up the trial call.
+     */
+    public synchronized boolean isRejecting() {
+        return state == State.HALF_OPEN || (state == State.OPEN && System.currentTimeMillis() - openedAt < openMillis);
+    }
+
+    public synchronized void recordSuccess() {
+        if (state != State.CLOSED) {
+            logger.info(name + " has recovered; resuming calls.");
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            if (state == State.CLOSED) {
+                logger.warning(name + " failed " + consecutiveFailures + " times in a row; rejecting calls for " + openMillis + " ms.");
+            }
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+            timesOpened++;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized long getTimesOpened() {
+        return timesOpened;
+    }
+}
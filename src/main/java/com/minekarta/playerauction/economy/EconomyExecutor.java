@@ -0,0 +1,119 @@
+package com.minekarta.playerauction.economy;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking economy provider calls on their own small, bounded thread pool, so a slow provider can only
+ * ever tie up these threads and never the plugin's worker pool, storage or GUI rendering.
+ * <p>
+ * Every call has a deadline. Calls that miss it, fail, or find the queue full count against a
+ * {@link CircuitBreaker}; while it is open, calls fail at once. Callers see all of these as an
+ * {@link EconomyUnavailableException}.
+ */
+public class EconomyExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final CircuitBreaker breaker;
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public EconomyExecutor(int threads, int queueCapacity, long timeoutMillis, CircuitBreaker breaker) {
+        this.executor = new ThreadPoolExecutor(
+            Math.max(1, threads), Math.max(1, threads), 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+            new ThreadFactoryBuilder().setNameFormat("PlayerAuction-Economy-%d").setDaemon(true).build(),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.timeoutMillis = Math.max(1, timeoutMillis);
+        this.breaker = breaker;
+    }
+
+    /**
+     * Runs {@code call} on the economy pool.
+     * @param onLateResult Receives the result of a call that finished after its deadline, when the caller has
+     *                     already been told it failed; used to undo money moved by such a call. May be null.
+     * @return A future completing with the result, or failing with {@link EconomyUnavailableException}.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> call, Consumer<T> onLateResult) {
+        if (!breaker.allowRequest()) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new EconomyUnavailableException("The economy provider is unavailable"));
+        }
+        CompletableFuture<T> task;
+        try {
+            task = CompletableFuture.supplyAsync(call, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            breaker.recordFailure();
+            return CompletableFuture.failedFuture(new EconomyUnavailableException("The economy queue is full", e));
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        task.copy().orTimeout(timeoutMillis, TimeUnit.MILLISECONDS).whenComplete((value, ex) -> {
+            if (ex == null) {
+                breaker.recordSuccess();
+                result.complete(value);
+                return;
+            }
+            breaker.recordFailure();
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (cause instanceof TimeoutException) {
+                timeouts.increment();
+                if (onLateResult != null) {
+                    task.thenAccept(onLateResult);
+                }
+                result.completeExceptionally(new EconomyUnavailableException("The economy provider did not answer within " + timeoutMillis + " ms"));
+            } else {
+                result.completeExceptionally(cause);
+            }
+        });
+        return result;
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCalls() {
+        return executor.getActiveCount();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    public CircuitBreaker getBreaker() {
+        return breaker;
+    }
+
+    /**
+     * Stops accepting calls and waits up to {@code timeoutMillis} for the ones queued to finish.
+     */
+    public void shutdown(long timeoutMillis) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
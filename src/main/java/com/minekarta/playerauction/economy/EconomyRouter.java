@@ -12,6 +12,8 @@ public class EconomyRouter {
     private final JavaPlugin plugin;
     private final ConfigManager configManager;
     private EconomyService activeService;
+    private CachingEconomyService cachingService;
+    private EconomyExecutor economyExecutor;
 
     public EconomyRouter(JavaPlugin plugin, ConfigManager configManager) {
         this.plugin = plugin;
@@ -39,6 +41,14 @@ public class EconomyRouter {
             plugin.getLogger().severe("No compatible economy plugin found! PlayerAuction will not function correctly.");
             this.activeService = null;
         }
+        if (activeService != null) {
+            cachingService = new CachingEconomyService(
+                activeService,
+                configManager.getConfig().getLong("economy.balance-cache.ttl-ms", 2000),
+                configManager.getConfig().getLong("economy.balance-cache.max-players", 1000)
+            );
+            activeService = cachingService;
+        }
     }
 
     private VaultEconomyService setupVault() {
@@ -49,7 +59,19 @@ public class EconomyRouter {
         if (rsp == null) {
             return null;
         }
-        return new VaultEconomyService(plugin, rsp.getProvider());
+        CircuitBreaker breaker = new CircuitBreaker(
+            "Economy provider " + rsp.getProvider().getName(),
+            plugin.getLogger(),
+            configManager.getConfig().getInt("economy.executor.failure-threshold", 5),
+            configManager.getConfig().getLong("economy.executor.open-ms", 10000)
+        );
+        economyExecutor = new EconomyExecutor(
+            configManager.getConfig().getInt("economy.executor.threads", 2),
+            configManager.getConfig().getInt("economy.executor.queue-capacity", 256),
+            configManager.getConfig().getLong("economy.executor.call-timeout-ms", 3000),
+            breaker
+        );
+        return new VaultEconomyService(plugin, rsp.getProvider(), economyExecutor);
     }
 
     public EconomyService getService() {
@@ -59,6 +81,36 @@ public class EconomyRouter {
         return activeService;
     }
 
+    /**
+     * @return The cache in front of the active economy, or null when there is no economy.
+     */
+    public CachingEconomyService getCachingService() {
+        return cachingService;
+    }
+
+    /**
+     * @return The pool Vault calls run on, or null when Vault is not in use.
+     */
+    public EconomyExecutor getEconomyExecutor() {
+        return economyExecutor;
+    }
+
+    /**
+     * @return False while the economy provider is failing and calls to it are rejected.
+     */
+    public boolean isAvailable() {
+        return activeService != null && (economyExecutor == null || !economyExecutor.getBreaker().isRejecting());
+    }
+
+    /**
+     * Lets queued economy calls finish, waiting at most {@code timeoutMillis}.
+     */
+    public void shutdown(long timeoutMillis) {
+        if (economyExecutor != null) {
+            economyExecutor.shutdown(timeoutMillis);
+        }
+    }
+
     public boolean hasService() {
         return activeService != null;
     }
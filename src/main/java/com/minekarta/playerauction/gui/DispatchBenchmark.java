@@ -0,0 +1,124 @@
+package com.minekarta.playerauction.gui;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures what an inventory click costs to dispatch while many GUIs are open, comparing one listener per open
+ * GUI, as GUIs used to register themselves, with a single listener routing by holder like {@link GuiListener}.
+ * <p>
+ * Fires a private probe event instead of real clicks so no other plugin sees them. Must run on the main thread.
+ */
+public final class DispatchBenchmark {
+
+    private DispatchBenchmark() {}
+
+    /**
+     * @param perGuiMicros     Time to dispatch a click with one listener per open GUI.
+     * @param registerMicros   Time to register and unregister one GUI's listener, paid on every open and close.
+     * @param dispatcherMicros Time to dispatch a click through a single routing listener.
+     */
+    public record Result(int guis, double perGuiMicros, double registerMicros, double dispatcherMicros) {}
+
+    public static Result run(JavaPlugin plugin, int guis, int clicks) {
+        PluginManager pluginManager = plugin.getServer().getPluginManager();
+        List<ProbeHolder> holders = new ArrayList<>(guis);
+        for (int i = 0; i < guis; i++) {
+            holders.add(new ProbeHolder());
+        }
+        // Every click lands in one of the open GUIs, like a player clicking through their page
+        ProbeEvent event = new ProbeEvent(holders.get(guis - 1));
+
+        List<Listener> perGui = new ArrayList<>(guis);
+        long registerNanos = 0;
+        double perGuiMicros;
+        try {
+            long start = System.nanoTime();
+            for (ProbeHolder holder : holders) {
+                Listener listener = new PerGuiProbe(holder);
+                pluginManager.registerEvents(listener, plugin);
+                perGui.add(listener);
+            }
+            registerNanos += System.nanoTime() - start;
+            perGuiMicros = time(pluginManager, event, clicks);
+        } finally {
+            long start = System.nanoTime();
+            perGui.forEach(HandlerList::unregisterAll);
+            registerNanos += System.nanoTime() - start;
+        }
+
+        Listener dispatcher = new DispatcherProbe();
+        pluginManager.registerEvents(dispatcher, plugin);
+        double dispatcherMicros;
+        try {
+            dispatcherMicros = time(pluginManager, event, clicks);
+        } finally {
+            HandlerList.unregisterAll(dispatcher);
+        }
+        return new Result(guis, perGuiMicros, registerNanos / (double) guis / 1000.0, dispatcherMicros);
+    }
+
+    private static double time(PluginManager pluginManager, ProbeEvent event, int clicks) {
+        // Warm up so the first model measured doesn't pay for JIT and baking the handler list
+        for (int i = 0; i < Math.min(clicks, 1000); i++) {
+            pluginManager.callEvent(event);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < clicks; i++) {
+            pluginManager.callEvent(event);
+        }
+        return (System.nanoTime() - start) / (double) clicks / 1000.0;
+    }
+
+    private static final class ProbeHolder {
+        private long clicks;
+    }
+
+    private static final class ProbeEvent extends Event {
+        private static final HandlerList HANDLERS = new HandlerList();
+        private final Object holder;
+
+        private ProbeEvent(Object holder) {
+            this.holder = holder;
+        }
+
+        @Override
+        public HandlerList getHandlers() {
+            return HANDLERS;
+        }
+
+        public static HandlerList getHandlerList() {
+            return HANDLERS;
+        }
+    }
+
+    private static final class PerGuiProbe implements Listener {
+        private final ProbeHolder holder;
+
+        private PerGuiProbe(ProbeHolder holder) {
+            this.holder = holder;
+        }
+
+        @EventHandler
+        public void onProbe(ProbeEvent event) {
+            if (event.holder != holder) return;
+            holder.clicks++;
+        }
+    }
+
+    private static final class DispatcherProbe implements Listener {
+        @EventHandler
+        public void onProbe(ProbeEvent event) {
+            if (event.holder instanceof ProbeHolder holder) {
+                holder.clicks++;
+            }
+        }
+    }
+}
@@ -4,24 +4,22 @@ import com.minekarta.playerauction.PlayerAuction;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.HandlerList;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
-import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.inventory.Inventory;
-import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.concurrent.CompletableFuture;
 
-public abstract class Gui implements InventoryHolder, Listener {
+public abstract class Gui {
 
     protected final JavaPlugin plugin;
     protected final Player player;
     protected Inventory inventory;
+    private GuiSession session;
+    // Main thread only
+    private boolean closed = false;
 
     public Gui(JavaPlugin plugin, Player player) {
         this.plugin = plugin;
@@ -33,37 +31,67 @@ public abstract class Gui implements InventoryHolder, Listener {
     protected abstract void build();
     protected abstract void onClick(InventoryClickEvent event);
 
+    /**
+     * Called once the player has closed this GUI or moved on to another.
+     */
+    protected void onClose() {
+    }
+
     public void open() {
-        inventory = Bukkit.createInventory(this, getSize(), getTitle());
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        String title = getTitle();
+        if (player.getOpenInventory().getTopInventory().getHolder() instanceof GuiSession current && current.fits(getSize(), title)) {
+            // Same shape as what the player is looking at, so swap the contents instead of reopening
+            current.getGui().detach();
+            current.setGui(this);
+            session = current;
+            inventory = current.getInventory();
+            inventory.clear();
+            this.build();
+            return;
+        }
+        session = new GuiSession(this, getSize(), title);
+        inventory = session.getInventory();
         this.build();
         player.openInventory(inventory);
     }
 
-    @Override
+    /**
+     * Hands the session's inventory over to the next GUI. A build of this GUI that is still in flight writes
+     * into a detached inventory from now on rather than into the page now shown.
+     */
+    private void detach() {
+        closed = true;
+        inventory = Bukkit.createInventory(null, inventory.getSize());
+        onClose();
+    }
+
+    /**
+     * @return Whether the player has closed this GUI or moved on to another. A build finishing after that
+     *         must not fill the inventory or register the GUI anywhere. Main thread only.
+     */
+    protected boolean isClosed() {
+        return closed;
+    }
+
     public @NotNull Inventory getInventory() {
         return inventory;
     }
 
-    @EventHandler
-    public void onInventoryClick(InventoryClickEvent event) {
-        if (event.getInventory().getHolder() != this) return;
+    void handleClick(InventoryClickEvent event) {
         if (!(event.getWhoClicked() instanceof Player p) || !p.getUniqueId().equals(player.getUniqueId())) return;
 
         event.setCancelled(true);
 
-        if (event.getClickedInventory() == null || event.getClickedInventory().getHolder() != this) {
+        if (event.getClickedInventory() == null || event.getClickedInventory().getHolder() != session) {
             return;
         }
 
         onClick(event);
     }
 
-    @EventHandler
-    public void onInventoryClose(InventoryCloseEvent event) {
-        if (event.getInventory().getHolder() == this) {
-            HandlerList.unregisterAll(this);
-        }
+    void handleClose() {
+        closed = true;
+        onClose();
     }
 
     protected CompletableFuture<ItemStack> createPlayerInfoItem() {
@@ -89,6 +117,11 @@ public abstract class Gui implements InventoryHolder, Listener {
             }
 
             return builder.build();
-        });
+        }).exceptionally(ex -> new GuiItemBuilder(Material.PLAYER_HEAD)
+            // A slow or failing economy must not keep the GUI from rendering
+            .setSkullOwner(player.getName())
+            .setName("&a" + player.getName())
+            .setLore("&7Balance: &cunavailable")
+            .build());
     }
 }
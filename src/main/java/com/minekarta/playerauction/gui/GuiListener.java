@@ -0,0 +1,28 @@
+package com.minekarta.playerauction.gui;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+
+/**
+ * Routes inventory events to the {@link Gui} they belong to by the inventory's holder. Registered once for
+ * the whole plugin, so opening and closing GUIs never touches Bukkit's handler lists and a click costs the
+ * same however many GUIs are open.
+ */
+public class GuiListener implements Listener {
+
+    @EventHandler
+    public void onInventoryClick(InventoryClickEvent event) {
+        if (event.getInventory().getHolder() instanceof GuiSession session) {
+            session.getGui().handleClick(event);
+        }
+    }
+
+    @EventHandler
+    public void onInventoryClose(InventoryCloseEvent event) {
+        if (event.getInventory().getHolder() instanceof GuiSession session) {
+            session.getGui().handleClose();
+        }
+    }
+}
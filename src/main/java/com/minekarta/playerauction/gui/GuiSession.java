@@ -0,0 +1,45 @@
+package com.minekarta.playerauction.gui;
+
+import org.bukkit.Bukkit;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The inventory a player has open for the plugin's GUIs, and the {@link Gui} currently shown in it.
+ * <p>
+ * Moving to another GUI with the same size and title, e.g. flipping a page or changing the sort, shows the
+ * new GUI in the same inventory instead of opening a new one.
+ */
+final class GuiSession implements InventoryHolder {
+
+    private final Inventory inventory;
+    private final String title;
+    private Gui gui;
+
+    GuiSession(Gui gui, int size, String title) {
+        this.gui = gui;
+        this.title = title;
+        this.inventory = Bukkit.createInventory(this, size, title);
+    }
+
+    /**
+     * @return Whether a GUI of this size and title can be shown in this session's inventory.
+     */
+    boolean fits(int size, String title) {
+        return inventory.getSize() == size && this.title.equals(title);
+    }
+
+    Gui getGui() {
+        return gui;
+    }
+
+    void setGui(Gui gui) {
+        this.gui = gui;
+    }
+
+    @Override
+    public @NotNull Inventory getInventory() {
+        return inventory;
+    }
+}
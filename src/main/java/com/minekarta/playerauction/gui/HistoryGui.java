@@ -1,6 +1,7 @@
 package com.minekarta.playerauction.gui;
 
 import com.minekarta.playerauction.PlayerAuction;
+import com.minekarta.playerauction.storage.PageCursor;
 import com.minekarta.playerauction.transaction.model.Transaction;
 import com.minekarta.playerauction.util.TimeUtil;
 import org.bukkit.Material;
@@ -9,7 +10,9 @@ import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.ItemStack;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
@@ -20,7 +23,11 @@ public class HistoryGui extends PaginatedGui {
     private List<Transaction> transactions;
 
     public HistoryGui(PlayerAuction plugin, Player player, UUID targetPlayerId, int page) {
-        super(plugin, player, page, 45);
+        this(plugin, player, targetPlayerId, page, List.of());
+    }
+
+    public HistoryGui(PlayerAuction plugin, Player player, UUID targetPlayerId, int page, List<PageCursor> cursorTrail) {
+        super(plugin, player, page, 45, cursorTrail);
         this.kah = plugin;
         this.targetPlayerId = targetPlayerId;
     }
@@ -33,10 +40,18 @@ public class HistoryGui extends PaginatedGui {
     @Override
     protected void build() {
         // Fetch transactions and build page
-        kah.getTransactionLogger().getHistory(targetPlayerId, page, itemsPerPage + 1)
+        kah.getTransactionLogger().getHistoryAfter(targetPlayerId, pageCursor(), itemsPerPage + 1)
+            // Resolve the page's buyer and seller names in one pass so rendering never waits on a lookup
+            .thenCompose(fetchedTransactions -> kah.getPlayerNameCache()
+                .getNames(counterparties(fetchedTransactions))
+                .thenApply(names -> fetchedTransactions))
             .thenAcceptAsync(fetchedTransactions -> {
-                this.hasNextPage = fetchedTransactions.size() > itemsPerPage;
-                this.transactions = hasNextPage ? fetchedTransactions.subList(0, itemsPerPage) : fetchedTransactions;
+                // Apply the page on the main thread, where clicks read it
+                if (isClosed()) {
+                    // Closed or replaced while the page was loading; nothing to fill any more
+                    return;
+                }
+                this.transactions = takePage(fetchedTransactions, PageCursor::after);
 
                 // Populate transaction items
                 for (int i = 0; i < transactions.size(); i++) {
@@ -58,13 +73,26 @@ public class HistoryGui extends PaginatedGui {
                         .build();
                     inventory.setItem(22, emptyItem); // Center position
                 }
-            }).thenRunAsync(() -> {
-                // Run on main thread to build the static parts of the GUI
+
+                // Build the static parts of the GUI
                 addControlBar();
                 addCustomControls(); // Add our specific controls
             }, runnable -> plugin.getServer().getScheduler().runTask(plugin, runnable));
     }
 
+    private static Set<UUID> counterparties(List<Transaction> transactions) {
+        Set<UUID> players = new HashSet<>();
+        for (Transaction transaction : transactions) {
+            if (transaction.buyerUuid() != null) {
+                players.add(transaction.buyerUuid());
+            }
+            if (transaction.sellerUuid() != null) {
+                players.add(transaction.sellerUuid());
+            }
+        }
+        return players;
+    }
+
     private void addCustomControls() {
         // Add back button
         String backName = kah.getConfigManager().getMessage("gui.control-items.back");
@@ -74,8 +102,19 @@ public class HistoryGui extends PaginatedGui {
         inventory.setItem(46, new GuiItemBuilder(Material.SPECTRAL_ARROW).setName("&a" + backName).setLore(backLore).build());
     }
 
+    /**
+     * @return The transaction's item, or a barrier if it cannot be decoded on this server.
+     */
+    private static ItemStack snapshotOf(Transaction transaction) {
+        try {
+            return transaction.itemSnapshot().toItemStack();
+        } catch (RuntimeException e) {
+            return new ItemStack(Material.BARRIER);
+        }
+    }
+
     private ItemStack createHistoryItem(Transaction transaction) {
-        ItemStack item = transaction.itemSnapshot().toItemStack();
+        ItemStack item = snapshotOf(transaction);
         GuiItemBuilder builder = new GuiItemBuilder(item);
 
         List<String> lore = new ArrayList<>();
@@ -127,13 +166,13 @@ public class HistoryGui extends PaginatedGui {
             if (isSeller) {
                 // User was the seller
                 String buyerName = transaction.buyerUuid() != null ?
-                    kah.getPlayerNameCache().getName(transaction.buyerUuid()).join() : "Unknown";
+                    kah.getPlayerNameCache().getCachedNameOrId(transaction.buyerUuid()) : "Unknown";
                 lore.add("&7➤ &6Sold to: &e" + buyerName);
                 lore.add("&7➤ &6Earned: &a+" + kah.getEconomyRouter().getService().format(transaction.finalPrice()));
             } else if (isBuyer) {
                 // User was the buyer
                 String sellerName = transaction.sellerUuid() != null ?
-                    kah.getPlayerNameCache().getName(transaction.sellerUuid()).join() : "Unknown";
+                    kah.getPlayerNameCache().getCachedNameOrId(transaction.sellerUuid()) : "Unknown";
                 lore.add("&7➤ &6Bought from: &e" + sellerName);
                 lore.add("&7➤ &6Paid: &c-" + kah.getEconomyRouter().getService().format(transaction.finalPrice()));
             } else {
@@ -186,7 +225,7 @@ public class HistoryGui extends PaginatedGui {
             details.add("&7Transaction ID: &e" + clickedTransaction.transactionId().toString());
             details.add("&7Status: " + clickedTransaction.status());
             details.add("&7Date: &e" + new java.text.SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new java.util.Date(clickedTransaction.timestamp())));
-            details.add("&7Item: &e" + clickedTransaction.itemSnapshot().toItemStack().getType().toString());
+            details.add("&7Item: &e" + snapshotOf(clickedTransaction).getType().toString());
 
             if (clickedTransaction.finalPrice() != null) {
                 details.add("&7Amount: &e" + kah.getEconomyRouter().getService().format(clickedTransaction.finalPrice()));
@@ -205,7 +244,7 @@ public class HistoryGui extends PaginatedGui {
         if (slot == 48) { // My Listings button
             new MyListingsGui(kah, player, 1).open();
         } else if (slot == 50) { // History button - refresh current page
-            new HistoryGui(kah, player, targetPlayerId, page).open();
+            new HistoryGui(kah, player, targetPlayerId, page, cursorTrail).open();
         } else if (slot == 51) { // Create Auction button
             player.sendMessage(kah.getConfigManager().getPrefixedMessage("info.create-auction-unavailable",
                 "Create auction feature is currently unavailable."));
@@ -214,6 +253,6 @@ public class HistoryGui extends PaginatedGui {
 
     @Override
     protected void openPage(int newPage) {
-        new HistoryGui(kah, player, targetPlayerId, newPage).open();
+        new HistoryGui(kah, player, targetPlayerId, newPage, trailFor(newPage)).open();
     }
 }
@@ -0,0 +1,176 @@
+package com.minekarta.playerauction.gui;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.minekarta.playerauction.PlayerAuction;
+import com.minekarta.playerauction.auction.AuctionChangeListener;
+import com.minekarta.playerauction.auction.model.Auction;
+import com.minekarta.playerauction.util.TimeUtil;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Renders the display items of auction listings once and shares them between every viewer.
+ * <p>
+ * Only the affordability lines depend on the viewer, and they take one of three forms, so each listing is
+ * rendered at most once per form. A render is kept until the auction changes or its time left, as
+ * displayed, would read differently: hourly for listings with days left, every minute for listings with
+ * hours left and every second in the last hour.
+ * <p>
+ * The returned items are shared and must not be modified; inventories copy them when they are set.
+ */
+public class ListingRenderCache implements AuctionChangeListener {
+
+    /**
+     * The viewer-dependent part of a render.
+     */
+    public enum Overlay { AFFORDABLE, INSUFFICIENT, BALANCE_UNAVAILABLE }
+
+    private static final long SECOND = 1000;
+    private static final long MINUTE = 60 * SECOND;
+    private static final long HOUR = 60 * MINUTE;
+    private static final long DAY = 24 * HOUR;
+
+    private record Render(long version, long validUntil, List<String> header, List<String> details, AtomicReferenceArray<ItemStack> variants) {}
+
+    private final PlayerAuction plugin;
+    private final Cache<UUID, Render> renders;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ListingRenderCache(PlayerAuction plugin, long maxListings) {
+        this.plugin = plugin;
+        this.renders = CacheBuilder.newBuilder()
+            .maximumSize(Math.max(0, maxListings))
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+    }
+
+    /**
+     * @param balance The viewer's balance, or null if it could not be fetched.
+     * @return The display item of {@code auction} as the viewer should see it.
+     */
+    public ItemStack render(Auction auction, @Nullable Double balance) {
+        Overlay overlay = balance == null ? Overlay.BALANCE_UNAVAILABLE
+            : balance >= auction.price() ? Overlay.AFFORDABLE : Overlay.INSUFFICIENT;
+        long now = System.currentTimeMillis();
+
+        Render render = renders.getIfPresent(auction.id());
+        if (render == null || render.version() != auction.version() || now >= render.validUntil()) {
+            render = renderShared(auction, now);
+            renders.put(auction.id(), render);
+        }
+
+        ItemStack item = render.variants().get(overlay.ordinal());
+        if (item != null) {
+            hits.increment();
+            return item;
+        }
+        misses.increment();
+        // Viewers racing for the same render may both build it; either result is correct
+        item = renderVariant(auction, render, overlay);
+        render.variants().set(overlay.ordinal(), item);
+        return item;
+    }
+
+    @Override
+    public void auctionChanged(Auction auction) {
+        renders.invalidate(auction.id());
+    }
+
+    private Render renderShared(Auction auction, long now) {
+        List<String> header = new ArrayList<>();
+
+        // Header information
+        header.add("§8━━━━━━━━━━━━━━━━━━━━━━━━━━");
+        header.add("§f" + auction.metadata().materialName());
+        header.add("§8━━━━━━━━━━━━━━━━━━━━━━━━━━");
+        header.add("");
+
+        // Seller information; GUIs resolve the page's sellers before rendering, so this never waits
+        String seller = plugin.getPlayerNameCache().getCachedName(auction.seller());
+        header.add("§7➤ §6Seller: §e" + (seller != null ? seller : plugin.getPlayerNameCache().getCachedNameOrId(auction.seller())));
+
+        // Time left with color coding
+        long timeLeft = auction.endAt() - now;
+        String timeStr = TimeUtil.formatDuration(timeLeft);
+        String timeColor;
+        if (timeLeft > DAY) { // More than 1 day
+            timeColor = "§a";
+        } else if (timeLeft > HOUR) { // More than 1 hour
+            timeColor = "§e";
+        } else { // Less than 1 hour
+            timeColor = "§c";
+        }
+        header.add("§7➤ §6Time Left: " + timeColor + timeStr);
+
+        List<String> details = new ArrayList<>();
+
+        // Additional item details
+        if (auction.metadata().amount() > 1) {
+            details.add("§7➤ §6Quantity: §e" + auction.metadata().amount());
+        }
+
+        details.add("");
+        details.add("§8━━━━━━━━━━━━━━━━━━━━━━━━━━");
+
+        // Without the seller's name, only keep the render until the name has been fetched
+        long validUntil = seller != null ? validUntil(timeLeft, now) : now + SECOND;
+        return new Render(auction.version(), validUntil, header, details, new AtomicReferenceArray<>(Overlay.values().length));
+    }
+
+    /**
+     * @return When the time left, as {@link TimeUtil#formatDuration} displays it, next changes.
+     */
+    private static long validUntil(long timeLeft, long now) {
+        if (timeLeft < SECOND) {
+            return now + SECOND;
+        }
+        long step = timeLeft > DAY ? HOUR : timeLeft > HOUR ? MINUTE : SECOND;
+        return now + timeLeft % step + 1;
+    }
+
+    private ItemStack renderVariant(Auction auction, Render render, Overlay overlay) {
+        List<String> lore = new ArrayList<>(render.header());
+
+        // Price with affordability indicator
+        String price = plugin.getEconomyRouter().getService().format(auction.price());
+        switch (overlay) {
+            case AFFORDABLE -> lore.add("§7➤ §6Price: §a" + price + " §7§a(✓ Affordable)");
+            case INSUFFICIENT -> lore.add("§7➤ §6Price: §c" + price + " §7§c(✗ Insufficient)");
+            case BALANCE_UNAVAILABLE -> lore.add("§7➤ §6Price: §e" + price + " §7§7(Balance unavailable)");
+        }
+
+        lore.addAll(render.details());
+
+        // Action buttons
+        if (overlay == Overlay.INSUFFICIENT) {
+            lore.add("§c§l▶ INSUFFICIENT FUNDS");
+            lore.add("§7You need more money to buy this");
+        } else {
+            lore.add("§a§l▶ CLICK TO PURCHASE");
+            lore.add("§7Buy this item instantly");
+        }
+
+        return new GuiItemBuilder(auction.item().toItemStack()).setLore(lore).build();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long size() {
+        return renders.size();
+    }
+}
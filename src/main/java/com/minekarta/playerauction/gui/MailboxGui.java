@@ -0,0 +1,163 @@
+package com.minekarta.playerauction.gui;
+
+import com.minekarta.playerauction.PlayerAuction;
+import com.minekarta.playerauction.mailbox.MailboxService;
+import com.minekarta.playerauction.mailbox.model.MailboxEntry;
+import com.minekarta.playerauction.storage.PageCursor;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class MailboxGui extends PaginatedGui {
+
+    private final PlayerAuction kah;
+    private List<MailboxEntry> entries;
+
+    public MailboxGui(PlayerAuction plugin, Player player, int page) {
+        this(plugin, player, page, List.of());
+    }
+
+    public MailboxGui(PlayerAuction plugin, Player player, int page, List<PageCursor> cursorTrail) {
+        super(plugin, player, page, 45, cursorTrail);
+        this.kah = plugin;
+    }
+
+    @Override
+    protected String getTitle() {
+        return kah.getConfigManager().getMessage("gui.mailbox-title");
+    }
+
+    @Override
+    protected void build() {
+        // Fetch the player's unclaimed entries and build page content
+        kah.getMailboxService().getPending(player.getUniqueId(), pageCursor(), itemsPerPage + 1)
+            .thenAcceptAsync(fetchedEntries -> {
+                // Apply the page on the main thread, where clicks read it
+                if (isClosed()) {
+                    // Closed or replaced while the page was loading; nothing to fill any more
+                    return;
+                }
+                this.entries = takePage(fetchedEntries, PageCursor::after);
+
+                // Populate mailbox entries
+                for (int i = 0; i < entries.size(); i++) {
+                    inventory.setItem(i, createEntryItem(entries.get(i)));
+                }
+
+                // Show empty message if nothing is waiting
+                if (entries.isEmpty()) {
+                    ItemStack emptyItem = new GuiItemBuilder(Material.CHEST)
+                        .setName("&6Mailbox Empty")
+                        .setLore(
+                            "&7Nothing is waiting for you.",
+                            "&8Expired, cancelled and undelivered items end up here."
+                        )
+                        .build();
+                    inventory.setItem(22, emptyItem); // Center position
+                }
+
+                // Build the static parts of the GUI
+                addControlBar(); // From PaginatedGui
+                addCustomControls(); // Add our specific controls
+            }, runnable -> plugin.getServer().getScheduler().runTask(plugin, runnable));
+    }
+
+    private void addCustomControls() {
+        // Add back button
+        String backName = kah.getConfigManager().getMessage("gui.control-items.back");
+        List<String> backLore = new ArrayList<>();
+        backLore.add("&7Return to the main auction house");
+        backLore.add("&8Click to go back");
+        inventory.setItem(48, new GuiItemBuilder(Material.SPECTRAL_ARROW).setName("&a" + backName).setLore(backLore).build());
+
+        // Add claim all button
+        if (entries != null && !entries.isEmpty()) {
+            inventory.setItem(50, new GuiItemBuilder(Material.HOPPER)
+                .setName("&a&lClaim All")
+                .setLore("&7Move everything that fits into your inventory", "&8Money is paid out straight away")
+                .build());
+        }
+    }
+
+    private ItemStack createEntryItem(MailboxEntry entry) {
+        GuiItemBuilder builder;
+        if (!MailboxService.isReadable(entry)) {
+            builder = new GuiItemBuilder(Material.BARRIER).setName("&cUnreadable item");
+        } else if (entry.hasItem()) {
+            builder = new GuiItemBuilder(entry.item().toItemStack());
+        } else {
+            builder = new GuiItemBuilder(Material.GOLD_INGOT).setName("&e" + kah.getEconomyRouter().getService().format(entry.amount()));
+        }
+
+        List<String> lore = new ArrayList<>();
+        lore.add("&8━━━━━━━━━━━━━━━━━━━━━━━━━━");
+        lore.add("&7➤ &6Reason: &e" + describeSource(entry.source()));
+        if (entry.hasItem() && entry.amount() > 0) {
+            lore.add("&7➤ &6Money: &e" + kah.getEconomyRouter().getService().format(entry.amount()));
+        }
+        lore.add("&7➤ &6Received: &e" + new java.text.SimpleDateFormat("MMM dd, yyyy HH:mm").format(new java.util.Date(entry.createdAt())));
+        lore.add("&8━━━━━━━━━━━━━━━━━━━━━━━━━━");
+        lore.add("&a&l▶ CLICK TO CLAIM");
+
+        return builder.setLore(lore).build();
+    }
+
+    private static String describeSource(String source) {
+        return switch (source) {
+            case "EXPIRED" -> "Your auction expired";
+            case "CANCELLED" -> "You cancelled your auction";
+            case "PURCHASE" -> "You bought this item";
+            case "REFUND" -> "Refund";
+            default -> source;
+        };
+    }
+
+    @Override
+    protected void onClick(InventoryClickEvent event) {
+        if (handleControlBarClick(event)) return;
+
+        int slot = event.getSlot();
+
+        // Handle custom control clicks
+        if (slot == 48) { // Back button
+            new MainAuctionGui(kah, player, 1, com.minekarta.playerauction.gui.model.SortOrder.NEWEST, null).open();
+            return;
+        }
+        if (slot == 50 && entries != null && !entries.isEmpty()) { // Claim all button
+            player.closeInventory();
+            kah.getMailboxService().deliver(player);
+            return;
+        }
+
+        // Handle clicking on a mailbox entry
+        if (slot >= 0 && slot < itemsPerPage && entries != null && slot < entries.size()) {
+            MailboxEntry clicked = entries.get(slot);
+            if (clicked.hasItem() && player.getInventory().firstEmpty() == -1) {
+                player.sendMessage(kah.getConfigManager().getPrefixedMessage("mailbox.inventory-full", "{count}", "1"));
+                return;
+            }
+            kah.getMailboxService().claim(player, List.of(clicked)).thenAccept(claimed -> {
+                if (claimed.isEmpty()) {
+                    // Already claimed elsewhere, e.g. by the join delivery
+                    new MailboxGui(kah, player, page, cursorTrail).open();
+                    return;
+                }
+                if (clicked.hasItem()) {
+                    player.sendMessage(kah.getConfigManager().getPrefixedMessage("mailbox.claimed-item", "{item}", clicked.item().toItemStack().getType().toString()));
+                } else {
+                    player.sendMessage(kah.getConfigManager().getPrefixedMessage("mailbox.claimed-money", "{amount}", kah.getEconomyRouter().getService().format(clicked.amount())));
+                }
+                new MailboxGui(kah, player, page, cursorTrail).open();
+            });
+        }
+    }
+
+    @Override
+    protected void openPage(int newPage) {
+        new MailboxGui(kah, player, newPage, trailFor(newPage)).open();
+    }
+}
@@ -2,9 +2,10 @@ package com.minekarta.playerauction.gui;
 
 import com.minekarta.playerauction.PlayerAuction;
 import com.minekarta.playerauction.auction.model.Auction;
+import com.minekarta.playerauction.auction.model.AuctionStatus;
 import com.minekarta.playerauction.gui.model.AuctionCategory;
 import com.minekarta.playerauction.gui.model.SortOrder;
-import com.minekarta.playerauction.util.TimeUtil;
+import com.minekarta.playerauction.storage.PageCursor;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryClickEvent;
@@ -15,48 +16,106 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
-public class MainAuctionGui extends PaginatedGui {
+public class MainAuctionGui extends PaginatedGui implements AuctionView {
 
     private final PlayerAuction kah;
     private List<Auction> auctions;
+    private Double balance;
     private final SortOrder sortOrder;
     private final String searchQuery;
 
     public MainAuctionGui(PlayerAuction plugin, Player player, int page, SortOrder sortOrder, String searchQuery) {
-        super(plugin, player, page, 45);
+        this(plugin, player, page, sortOrder, searchQuery, List.of());
+    }
+
+    public MainAuctionGui(PlayerAuction plugin, Player player, int page, SortOrder sortOrder, String searchQuery, List<PageCursor> cursorTrail) {
+        super(plugin, player, page, 45, cursorTrail);
         this.kah = plugin;
-        this.sortOrder = sortOrder;
         this.searchQuery = searchQuery;
+        this.sortOrder = sortOrder == SortOrder.RELEVANCE && !isSearching() ? SortOrder.NEWEST : sortOrder;
     }
 
     @Override
     protected String getTitle() {
-        return kah.getConfigManager().getConfig().getString("gui.title-main", "&6PlayerAuctions").replace("&", "§");
+        return kah.getConfigManager().getSettings().gui().mainTitle();
     }
 
     @Override
     protected void build() {
         // Fetch auctions and build page content first
-        kah.getAuctionService().getActiveAuctions(page, itemsPerPage, AuctionCategory.ALL, sortOrder, searchQuery)
-            .thenCombine(kah.getEconomyRouter().getService().getBalance(player.getUniqueId()), (fetchedAuctions, balance) -> {
-                // Determine pagination
-                this.hasNextPage = fetchedAuctions.size() > itemsPerPage;
-                this.auctions = hasNextPage ? fetchedAuctions.subList(0, itemsPerPage) : fetchedAuctions;
+        kah.getAuctionService().getActiveAuctionsAfter(pageCursor(), itemsPerPage + 1, AuctionCategory.ALL, sortOrder, searchQuery)
+            // Resolve the page's seller names in one pass so rendering never waits on a lookup
+            .thenCompose(fetchedAuctions -> kah.getPlayerNameCache()
+                .getNames(fetchedAuctions.stream().map(Auction::seller).toList())
+                .thenApply(names -> fetchedAuctions))
+            .thenCombine(kah.getEconomyRouter().getService().getBalance(player.getUniqueId())
+                // A slow or failing economy must not keep the page from rendering
+                .exceptionally(ex -> null), PageContent::new)
+            .thenAcceptAsync(content -> {
+                // Apply the page on the main thread, where updateAuction and refreshBalance also touch it
+                if (isClosed()) {
+                    // Closed or replaced while the page was loading; registering it now would leak it
+                    return;
+                }
+                this.auctions = new ArrayList<>(takePage(content.auctions(), auction -> sortOrder == SortOrder.RELEVANCE
+                    ? PageCursor.atOffset(page * itemsPerPage, auction.id())
+                    : PageCursor.after(auction, sortOrder)));
+                this.balance = content.balance();
 
                 // Populate auction items
                 for (int i = 0; i < auctions.size(); i++) {
                     Auction auction = auctions.get(i);
-                    ItemStack displayItem = createAuctionItem(auction, balance);
+                    ItemStack displayItem = kah.getListingRenderCache().render(auction, balance);
                     inventory.setItem(i, displayItem);
                 }
-                return null;
-            }).thenRunAsync(() -> {
-                // Build the static parts of the GUI on the main thread
+                kah.getViewerRegistry().show(this, auctions);
+
+                // Build the static parts of the GUI
                 addControlBar(); // From PaginatedGui
                 addCustomControls(); // Add our specific controls
             }, runnable -> plugin.getServer().getScheduler().runTask(plugin, runnable));
     }
 
+    private record PageContent(List<Auction> auctions, Double balance) {}
+
+    @Override
+    public void updateAuction(int slot, Auction auction) {
+        auctions.set(slot, auction);
+        inventory.setItem(slot, auction.status() == AuctionStatus.ACTIVE
+            ? kah.getListingRenderCache().render(auction, balance)
+            : createUnavailableItem(auction));
+    }
+
+    private ItemStack createUnavailableItem(Auction auction) {
+        String state = switch (auction.status()) {
+            case PENDING_SETTLEMENT -> "§6Being sold";
+            case FINISHED -> "§eSold";
+            case CANCELLED -> "§cWithdrawn by the seller";
+            case EXPIRED -> "§8Expired";
+            default -> "§7" + auction.status().name();
+        };
+        return new GuiItemBuilder(Material.GRAY_STAINED_GLASS_PANE)
+            .setName("§7" + auction.metadata().materialName())
+            .setLore("§7This listing is no longer available", "§7➤ §6Status: " + state)
+            .build();
+    }
+
+    /**
+     * Re-renders the listings on this page with the player's current balance, e.g. after they spent money.
+     */
+    private void refreshBalance() {
+        kah.getEconomyRouter().getService().getBalance(player.getUniqueId())
+            .exceptionally(ex -> null)
+            .thenAccept(newBalance -> plugin.getServer().getScheduler().runTask(plugin, () -> {
+                this.balance = newBalance;
+                for (int i = 0; i < auctions.size(); i++) {
+                    if (auctions.get(i).status() == AuctionStatus.ACTIVE) {
+                        inventory.setItem(i, kah.getListingRenderCache().render(auctions.get(i), newBalance));
+                    }
+                }
+            }));
+    }
+
     private void addCustomControls() {
         // Update sort button with current sort order
         String sortName = kah.getConfigManager().getMessage("gui.control-items.sort");
@@ -65,6 +124,9 @@ public class MainAuctionGui extends PaginatedGui {
         sortLore.add("§7Click to cycle through options");
         sortLore.add("§8Available:");
         for (com.minekarta.playerauction.gui.model.SortOrder order : com.minekarta.playerauction.gui.model.SortOrder.values()) {
+            if (order == SortOrder.RELEVANCE && !isSearching()) {
+                continue;
+            }
             sortLore.add("§8  • " + order.getDisplayName());
         }
         inventory.setItem(46, new GuiItemBuilder(Material.COMPARATOR).setName("§a" + sortName).setLore(sortLore).build());
@@ -83,60 +145,6 @@ public class MainAuctionGui extends PaginatedGui {
         inventory.setItem(47, new GuiItemBuilder(Material.ENDER_EYE).setName("§a" + searchName).setLore(searchLore).build());
     }
 
-    private ItemStack createAuctionItem(Auction auction, double playerBalance) {
-        ItemStack item = auction.item().toItemStack();
-        GuiItemBuilder builder = new GuiItemBuilder(item);
-
-        List<String> lore = new ArrayList<>();
-
-        // Header information
-        lore.add("§8━━━━━━━━━━━━━━━━━━━━━━━━━━");
-        lore.add("§f" + item.getType().toString().replace("_", " ").toLowerCase());
-        lore.add("§8━━━━━━━━━━━━━━━━━━━━━━━━━━");
-        lore.add("");
-
-        // Seller information
-        lore.add("§7➤ §6Seller: §e" + kah.getPlayerNameCache().getName(auction.seller()).join());
-
-        // Time left with color coding
-        long timeLeft = auction.endAt() - System.currentTimeMillis();
-        String timeStr = TimeUtil.formatDuration(timeLeft);
-        String timeColor;
-        if (timeLeft > 24 * 60 * 60 * 1000) { // More than 1 day
-            timeColor = "§a";
-        } else if (timeLeft > 60 * 60 * 1000) { // More than 1 hour
-            timeColor = "§e";
-        } else { // Less than 1 hour
-            timeColor = "§c";
-        }
-        lore.add("§7➤ §6Time Left: " + timeColor + timeStr);
-
-        // Price with affordability indicator
-        double price = auction.price();
-        String priceColor = playerBalance >= price ? "§a" : "§c";
-        String affordText = playerBalance >= price ? "§a(✓ Affordable)" : "§c(✗ Insufficient)";
-        lore.add("§7➤ §6Price: " + priceColor + kah.getEconomyRouter().getService().format(price) + " §7" + affordText);
-
-        // Additional item details
-        if (item.getAmount() > 1) {
-            lore.add("§7➤ §6Quantity: §e" + item.getAmount());
-        }
-
-        lore.add("");
-        lore.add("§8━━━━━━━━━━━━━━━━━━━━━━━━━━");
-
-        // Action buttons
-        if (playerBalance >= price) {
-            lore.add("§a§l▶ CLICK TO PURCHASE");
-            lore.add("§7Buy this item instantly");
-        } else {
-            lore.add("§c§l▶ INSUFFICIENT FUNDS");
-            lore.add("§7You need more money to buy this");
-        }
-
-        return builder.setLore(lore).build();
-    }
-
     @Override
     protected void onClick(InventoryClickEvent event) {
         // Handle pagination, close, and player info clicks from the parent
@@ -147,6 +155,11 @@ public class MainAuctionGui extends PaginatedGui {
         // Handle clicking on an auction item
         if (slot >= 0 && slot < itemsPerPage && auctions != null && slot < auctions.size()) {
             Auction clickedAuction = auctions.get(slot);
+            if (clickedAuction.status() != AuctionStatus.ACTIVE) {
+                // Already known to be gone, no need to ask storage
+                player.sendMessage(kah.getConfigManager().getPrefixedMessage("errors.auction-not-found"));
+                return;
+            }
             // Direct purchase with confirmation
             double price = clickedAuction.price();
             kah.getEconomyRouter().getService().getBalance(player.getUniqueId()).thenAccept(balance -> {
@@ -155,10 +168,10 @@ public class MainAuctionGui extends PaginatedGui {
                     kah.getAuctionService().buyItem(player, clickedAuction.id()).thenAccept(success -> {
                         if (success) {
                             player.sendMessage(kah.getConfigManager().getPrefixedMessage("auction.purchase-success",
-                                "%item%", clickedAuction.item().toItemStack().getType().toString(),
+                                "%item%", clickedAuction.metadata().material().toString(),
                                 "%price%", kah.getEconomyRouter().getService().format(clickedAuction.price())));
-                            // Refresh the GUI
-                            new MainAuctionGui(kah, player, page, sortOrder, searchQuery).open();
+                            // The listing's slot is patched by the viewer registry; only our own balance changed
+                            refreshBalance();
                         }
                     });
                 } else {
@@ -167,20 +180,32 @@ public class MainAuctionGui extends PaginatedGui {
                         "%needed%", kah.getEconomyRouter().getService().format(price - balance),
                         "%balance%", kah.getEconomyRouter().getService().format(balance)));
                 }
+            }).exceptionally(ex -> {
+                player.sendMessage(kah.getConfigManager().getPrefixedMessage("errors.economy-unavailable"));
+                return null;
             });
             return;
         }
 
         // Handle custom control clicks (these are the ones not handled by parent class)
         if (slot == 47) { // Sort button
-            SortOrder nextSortOrder = sortOrder.next();
+            SortOrder nextSortOrder = sortOrder.next(isSearching());
             new MainAuctionGui(kah, player, 1, nextSortOrder, searchQuery).open();
         }
     }
 
+    @Override
+    protected void onClose() {
+        kah.getViewerRegistry().hide(this);
+    }
+
     @Override
     protected void openPage(int newPage) {
-        new MainAuctionGui(kah, player, newPage, sortOrder, searchQuery).open();
+        new MainAuctionGui(kah, player, newPage, sortOrder, searchQuery, trailFor(newPage)).open();
+    }
+
+    private boolean isSearching() {
+        return searchQuery != null && !searchQuery.isBlank();
     }
 
     @Override
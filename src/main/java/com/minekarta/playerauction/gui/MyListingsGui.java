@@ -3,6 +3,7 @@ package com.minekarta.playerauction.gui;
 import com.minekarta.playerauction.PlayerAuction;
 import com.minekarta.playerauction.auction.model.Auction;
 import com.minekarta.playerauction.auction.model.AuctionStatus;
+import com.minekarta.playerauction.storage.PageCursor;
 import com.minekarta.playerauction.util.TimeUtil;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
@@ -12,13 +13,17 @@ import org.bukkit.inventory.ItemStack;
 import java.util.ArrayList;
 import java.util.List;
 
-public class MyListingsGui extends PaginatedGui {
+public class MyListingsGui extends PaginatedGui implements AuctionView {
 
     private final PlayerAuction kah;
     private List<Auction> auctions;
 
     public MyListingsGui(PlayerAuction plugin, Player player, int page) {
-        super(plugin, player, page, 45);
+        this(plugin, player, page, List.of());
+    }
+
+    public MyListingsGui(PlayerAuction plugin, Player player, int page, List<PageCursor> cursorTrail) {
+        super(plugin, player, page, 45, cursorTrail);
         this.kah = plugin;
     }
 
@@ -30,11 +35,14 @@ public class MyListingsGui extends PaginatedGui {
     @Override
     protected void build() {
         // Fetch player's auctions and build page content
-        kah.getAuctionService().getPlayerAuctions(player.getUniqueId(), page, itemsPerPage + 1)
-            .thenAccept(fetchedAuctions -> {
-                // Determine pagination
-                this.hasNextPage = fetchedAuctions.size() > itemsPerPage;
-                this.auctions = hasNextPage ? fetchedAuctions.subList(0, itemsPerPage) : fetchedAuctions;
+        kah.getAuctionService().getPlayerAuctionsAfter(player.getUniqueId(), pageCursor(), itemsPerPage + 1)
+            .thenAcceptAsync(fetchedAuctions -> {
+                // Apply the page on the main thread, where clicks and live updates also touch it
+                if (isClosed()) {
+                    // Closed or replaced while the page was loading; registering it now would leak it
+                    return;
+                }
+                this.auctions = new ArrayList<>(takePage(fetchedAuctions, PageCursor::after));
 
                 // Populate auction items
                 for (int i = 0; i < auctions.size(); i++) {
@@ -42,6 +50,7 @@ public class MyListingsGui extends PaginatedGui {
                     ItemStack displayItem = createAuctionItem(auction);
                     inventory.setItem(i, displayItem);
                 }
+                kah.getViewerRegistry().show(this, auctions);
 
                 // Show empty message if no auctions
                 if (auctions.isEmpty()) {
@@ -56,8 +65,8 @@ public class MyListingsGui extends PaginatedGui {
                         .build();
                     inventory.setItem(22, emptyItem); // Center position
                 }
-            }).thenRunAsync(() -> {
-                // Build the static parts of the GUI on the main thread
+
+                // Build the static parts of the GUI
                 addControlBar(); // From PaginatedGui
                 addCustomControls(); // Add our specific controls
             }, runnable -> plugin.getServer().getScheduler().runTask(plugin, runnable));
@@ -72,6 +81,12 @@ public class MyListingsGui extends PaginatedGui {
         inventory.setItem(46, new GuiItemBuilder(Material.SPECTRAL_ARROW).setName("&a" + backName).setLore(backLore).build());
     }
 
+    @Override
+    public void updateAuction(int slot, Auction auction) {
+        auctions.set(slot, auction);
+        inventory.setItem(slot, createAuctionItem(auction));
+    }
+
     private ItemStack createAuctionItem(Auction auction) {
         ItemStack item = auction.item().toItemStack();
         GuiItemBuilder builder = new GuiItemBuilder(item);
@@ -80,7 +95,7 @@ public class MyListingsGui extends PaginatedGui {
 
         // Header information
         lore.add("&8━━━━━━━━━━━━━━━━━━━━━━━━━━");
-        lore.add("&f" + item.getType().toString().replace("_", " ").toLowerCase());
+        lore.add("&f" + auction.metadata().materialName());
         lore.add("&8━━━━━━━━━━━━━━━━━━━━━━━━━━");
         lore.add("");
 
@@ -92,6 +107,10 @@ public class MyListingsGui extends PaginatedGui {
                 statusColor = "&a";
                 statusText = "ACTIVE";
                 break;
+            case PENDING_SETTLEMENT:
+                statusColor = "&6";
+                statusText = "SELLING";
+                break;
             case FINISHED:
                 statusColor = "&e";
                 statusText = "SOLD";
@@ -130,8 +149,8 @@ public class MyListingsGui extends PaginatedGui {
         lore.add("&7➤ &6Listing Price: &e" + kah.getEconomyRouter().getService().format(auction.price()));
 
         // Additional item details
-        if (item.getAmount() > 1) {
-            lore.add("&7➤ &6Quantity: &e" + item.getAmount());
+        if (auction.metadata().amount() > 1) {
+            lore.add("&7➤ &6Quantity: &e" + auction.metadata().amount());
         }
 
         lore.add("");
@@ -145,6 +164,9 @@ public class MyListingsGui extends PaginatedGui {
         } else {
             lore.add("&7&l▶ LISTING " + statusText);
             switch (auction.status()) {
+                case PENDING_SETTLEMENT:
+                    lore.add("&7A buyer's payment is being processed");
+                    break;
                 case FINISHED:
                     lore.add("&7Item was sold to another player");
                     break;
@@ -180,21 +202,16 @@ public class MyListingsGui extends PaginatedGui {
             Auction clickedAuction = auctions.get(slot);
 
             if (clickedAuction.status() == AuctionStatus.ACTIVE) {
-                // Show confirmation before cancelling
-                player.closeInventory();
                 player.sendMessage(kah.getConfigManager().getPrefixedMessage("info.confirm-cancel",
-                    "%item%", clickedAuction.item().toItemStack().getType().toString(),
+                    "%item%", clickedAuction.metadata().material().toString(),
                     "%price%", kah.getEconomyRouter().getService().format(clickedAuction.price())));
 
                 // Cancel the auction
                 kah.getAuctionService().cancelAuction(player, clickedAuction.id()).thenAccept(success -> {
                     if (success) {
                         player.sendMessage(kah.getConfigManager().getPrefixedMessage("auction.cancel-success",
-                            "%item%", clickedAuction.item().toItemStack().getType().toString()));
-                        // Refresh the GUI after a short delay
-                        plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
-                            new MyListingsGui(kah, player, page).open();
-                        }, 20L); // 1 second delay
+                            "%item%", clickedAuction.metadata().material().toString()));
+                        // The listing's slot is patched by the viewer registry
                     } else {
                         player.sendMessage(kah.getConfigManager().getPrefixedMessage("errors.cancel-failed",
                             "Could not cancel listing. Please try again."));
@@ -210,7 +227,7 @@ public class MyListingsGui extends PaginatedGui {
 
         // Handle other control buttons
         if (slot == 48) { // My Listings button - refresh current page
-            new MyListingsGui(kah, player, page).open();
+            new MyListingsGui(kah, player, page, cursorTrail).open();
         } else if (slot == 50) { // History button
             new HistoryGui(kah, player, player.getUniqueId(), 1).open();
         } else if (slot == 51) { // Create Auction button
@@ -219,8 +236,13 @@ public class MyListingsGui extends PaginatedGui {
         }
     }
 
+    @Override
+    protected void onClose() {
+        kah.getViewerRegistry().hide(this);
+    }
+
     @Override
     protected void openPage(int newPage) {
-        new MyListingsGui(kah, player, newPage).open();
+        new MyListingsGui(kah, player, newPage, trailFor(newPage)).open();
     }
 }
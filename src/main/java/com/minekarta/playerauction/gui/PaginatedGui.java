@@ -3,20 +3,72 @@ package com.minekarta.playerauction.gui;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import com.minekarta.playerauction.PlayerAuction;
+import com.minekarta.playerauction.config.AuctionSettings;
+import com.minekarta.playerauction.storage.PageCursor;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.java.JavaPlugin;
-
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A GUI that pages through a query by keyset cursor.
+ * <p>
+ * The GUI carries the cursor each page starts after, so moving one page forward or back is a single
+ * index seek no matter how deep the player has paged.
+ */
 public abstract class PaginatedGui extends Gui {
 
     protected int page;
     protected final int itemsPerPage;
     protected boolean hasNextPage = false;
+    // cursorTrail.get(n - 2) is the cursor page n starts after; page 1 starts at the beginning
+    protected final List<PageCursor> cursorTrail;
+    protected PageCursor nextCursor;
 
     public PaginatedGui(PlayerAuction plugin, Player player, int page, int itemsPerPage) {
+        this(plugin, player, page, itemsPerPage, List.of());
+    }
+
+    public PaginatedGui(PlayerAuction plugin, Player player, int page, int itemsPerPage, List<PageCursor> cursorTrail) {
         super(plugin, player);
-        this.page = page;
+        // Without a cursor for the requested page there is nothing to seek from, so start at the deepest known page
+        this.page = Math.max(1, Math.min(page, cursorTrail.size() + 1));
         this.itemsPerPage = itemsPerPage;
+        this.cursorTrail = List.copyOf(cursorTrail.subList(0, this.page - 1));
+    }
+
+    /**
+     * @return The cursor this page starts after, or null for the first page.
+     */
+    @Nullable
+    protected PageCursor pageCursor() {
+        return page > 1 ? cursorTrail.get(page - 2) : null;
+    }
+
+    /**
+     * Trims a fetch of {@code itemsPerPage + 1} rows to the visible page, setting {@link #hasNextPage} and
+     * remembering where the next page starts.
+     */
+    protected <T> List<T> takePage(List<T> fetched, Function<T, PageCursor> cursorOf) {
+        this.hasNextPage = fetched.size() > itemsPerPage;
+        List<T> visible = hasNextPage ? fetched.subList(0, itemsPerPage) : fetched;
+        this.nextCursor = visible.isEmpty() ? null : cursorOf.apply(visible.get(visible.size() - 1));
+        return visible;
+    }
+
+    /**
+     * @return The cursor trail a GUI for {@code newPage} needs, derived from this page's trail.
+     */
+    protected List<PageCursor> trailFor(int newPage) {
+        List<PageCursor> trail = new ArrayList<>(cursorTrail);
+        if (newPage > page && nextCursor != null) {
+            trail.add(nextCursor);
+        }
+        return trail.subList(0, Math.max(0, Math.min(trail.size(), newPage - 1)));
     }
 
     @Override
@@ -26,12 +78,10 @@ public abstract class PaginatedGui extends Gui {
 
     protected void addControlBar() {
         // Get border configuration
-        boolean borderEnabled = ((com.minekarta.playerauction.PlayerAuction) plugin).getConfigManager().getConfig().getBoolean("gui.border.enabled", true);
-        Material borderMaterial = Material.getMaterial(((com.minekarta.playerauction.PlayerAuction) plugin).getConfigManager().getConfig().getString("gui.border.material", "BLACK_STAINED_GLASS_PANE"));
-        String borderName = ((com.minekarta.playerauction.PlayerAuction) plugin).getConfigManager().getConfig().getString("gui.border.name", " ");
-        java.util.List<String> borderLore = ((com.minekarta.playerauction.PlayerAuction) plugin).getConfigManager().getConfig().getStringList("gui.border.lore");
+        AuctionSettings.Gui settings = ((PlayerAuction) plugin).getConfigManager().getSettings().gui();
+        boolean borderEnabled = settings.borderEnabled();
 
-        ItemStack borderFiller = new GuiItemBuilder(borderMaterial != null ? borderMaterial : Material.BLACK_STAINED_GLASS_PANE).setName(borderName).setLore(borderLore).build();
+        ItemStack borderFiller = new GuiItemBuilder(settings.borderMaterial()).setName(settings.borderName()).setLore(settings.borderLore()).build();
         ItemStack accentFiller = new GuiItemBuilder(Material.LIGHT_GRAY_STAINED_GLASS_PANE).setName(" ").build();
 
         // Add border if enabled
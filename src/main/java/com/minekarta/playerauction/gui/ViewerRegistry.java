@@ -0,0 +1,105 @@
+package com.minekarta.playerauction.gui;
+
+import com.minekarta.playerauction.auction.AuctionChangeListener;
+import com.minekarta.playerauction.auction.model.Auction;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Knows which auctions are on screen in which open GUIs, and patches just their slots when they change
+ * instead of every viewer reopening the GUI.
+ * <p>
+ * Changes are collected and applied in one main-thread task on the next tick, so a burst of changes, such
+ * as an expiry sweep, costs a single task however many auctions and viewers it touches. Changes to auctions
+ * nobody is viewing are ignored.
+ */
+public class ViewerRegistry implements AuctionChangeListener {
+
+    private record Binding(AuctionView view, int slot) {}
+
+    private final JavaPlugin plugin;
+    private final Map<UUID, Set<Binding>> viewers = new HashMap<>();
+    private final Map<AuctionView, List<UUID>> shown = new HashMap<>();
+    private final Map<UUID, Auction> pending = new LinkedHashMap<>();
+    private boolean flushScheduled = false;
+    private final LongAdder patchedSlots = new LongAdder();
+
+    public ViewerRegistry(JavaPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Records that {@code view} shows {@code auctions}, the auction at index {@code i} in slot {@code i},
+     * replacing whatever it showed before.
+     */
+    public synchronized void show(AuctionView view, List<Auction> auctions) {
+        hide(view);
+        List<UUID> ids = new ArrayList<>(auctions.size());
+        for (int slot = 0; slot < auctions.size(); slot++) {
+            UUID id = auctions.get(slot).id();
+            viewers.computeIfAbsent(id, k -> new HashSet<>()).add(new Binding(view, slot));
+            ids.add(id);
+        }
+        shown.put(view, ids);
+    }
+
+    /**
+     * Forgets everything {@code view} shows, e.g. once it is closed.
+     */
+    public synchronized void hide(AuctionView view) {
+        List<UUID> ids = shown.remove(view);
+        if (ids == null) {
+            return;
+        }
+        for (UUID id : ids) {
+            Set<Binding> bindings = viewers.get(id);
+            if (bindings != null && bindings.removeIf(binding -> binding.view() == view) && bindings.isEmpty()) {
+                viewers.remove(id);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void auctionChanged(Auction auction) {
+        if (!viewers.containsKey(auction.id())) {
+            return;
+        }
+        pending.put(auction.id(), auction);
+        if (!flushScheduled) {
+            flushScheduled = true;
+            plugin.getServer().getScheduler().runTask(plugin, this::flush);
+        }
+    }
+
+    private void flush() {
+        Map<Binding, Auction> patches = new LinkedHashMap<>();
+        synchronized (this) {
+            for (Auction auction : pending.values()) {
+                for (Binding binding : viewers.getOrDefault(auction.id(), Set.of())) {
+                    patches.put(binding, auction);
+                }
+            }
+            pending.clear();
+            flushScheduled = false;
+        }
+        patches.forEach((binding, auction) -> binding.view().updateAuction(binding.slot(), auction));
+        patchedSlots.add(patches.size());
+    }
+
+    public synchronized int getWatchedAuctions() {
+        return viewers.size();
+    }
+
+    public long getPatchedSlots() {
+        return patchedSlots.sum();
+    }
+}
@@ -1,5 +1,29 @@
 package com.minekarta.playerauction.gui.model;
 
+import org.bukkit.Material;
+
 public enum AuctionCategory {
-    ALL, WEAPONS, ARMOR, BLOCKS, MISC
+    ALL, WEAPONS, ARMOR, BLOCKS, MISC;
+
+    /**
+     * Determines the category a listed item belongs to. Never returns {@link #ALL}.
+     */
+    public static AuctionCategory of(Material material) {
+        if (material == null) {
+            return MISC;
+        }
+        String name = material.name();
+        if (name.endsWith("_SWORD") || name.endsWith("_AXE") || name.equals("BOW") || name.equals("CROSSBOW")
+                || name.equals("TRIDENT") || name.equals("MACE")) {
+            return WEAPONS;
+        }
+        if (name.endsWith("_HELMET") || name.endsWith("_CHESTPLATE") || name.endsWith("_LEGGINGS")
+                || name.endsWith("_BOOTS") || name.equals("ELYTRA") || name.equals("SHIELD")) {
+            return ARMOR;
+        }
+        if (material.isBlock()) {
+            return BLOCKS;
+        }
+        return MISC;
+    }
 }
@@ -4,10 +4,19 @@ public enum SortOrder {
     TIME_LEFT("Time Left"),
     PRICE_ASC("Price (Low to High)"),
     PRICE_DESC("Price (High to Low)"),
-    NEWEST("Recently Listed");
+    NEWEST("Recently Listed"),
+    RELEVANCE("Best Match");
 
     private final String displayName;
     SortOrder(String displayName) { this.displayName = displayName; }
     public String getDisplayName() { return displayName; }
     public SortOrder next() { return values()[(this.ordinal() + 1) % values().length]; }
+
+    /**
+     * @return The next order in the cycle, skipping {@link #RELEVANCE} when there is no search to rank against.
+     */
+    public SortOrder next(boolean searching) {
+        SortOrder next = next();
+        return next == RELEVANCE && !searching ? next.next() : next;
+    }
 }
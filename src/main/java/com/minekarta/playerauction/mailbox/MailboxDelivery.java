@@ -0,0 +1,87 @@
+package com.minekarta.playerauction.mailbox;
+
+import com.minekarta.playerauction.mailbox.model.MailboxEntry;
+import com.minekarta.playerauction.storage.PageCursor;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hands a player's mailbox over a batch per tick, so a large mailbox never stalls the server, and cancels
+ * itself once every entry was visited. Items that do not fit stay in the mailbox; money is always paid out.
+ */
+class MailboxDelivery extends BukkitRunnable {
+
+    private final MailboxService mailboxService;
+    private final Player player;
+    private final int batchSize;
+    private volatile PageCursor cursor;
+    private volatile boolean busy = false;
+    private volatile boolean done = false;
+    private volatile int delivered = 0;
+    private volatile int leftBehind = 0;
+
+    MailboxDelivery(MailboxService mailboxService, Player player, int batchSize) {
+        this.mailboxService = mailboxService;
+        this.player = player;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run() {
+        // Skip this tick if the previous batch is still in flight; finishing now would leave it out of the counts
+        if (busy) {
+            return;
+        }
+        if (done || !player.isOnline()) {
+            cancel();
+            mailboxService.finishDelivery(player, delivered, leftBehind);
+            return;
+        }
+        busy = true;
+        int freeSlots = freeSlots();
+        mailboxService.getMailboxStorage().findPending(player.getUniqueId(), cursor, batchSize).thenCompose(entries -> {
+            if (entries.size() < batchSize) {
+                done = true;
+            }
+            if (entries.isEmpty()) {
+                return mailboxService.claim(player, List.of());
+            }
+            cursor = PageCursor.after(entries.get(entries.size() - 1));
+            List<MailboxEntry> batch = new ArrayList<>(entries.size());
+            int slots = freeSlots;
+            for (MailboxEntry entry : entries) {
+                if (!entry.hasItem()) {
+                    batch.add(entry);
+                } else if (slots > 0) {
+                    batch.add(entry);
+                    slots--;
+                } else {
+                    leftBehind++;
+                }
+            }
+            return mailboxService.claim(player, batch);
+        }).whenComplete((claimed, ex) -> {
+            if (ex != null) {
+                ex.printStackTrace();
+                done = true;
+            } else {
+                delivered += claimed.size();
+            }
+            busy = false;
+        });
+    }
+
+    private int freeSlots() {
+        int free = 0;
+        for (ItemStack item : player.getInventory().getStorageContents()) {
+            if (item == null || item.getType().isAir()) {
+                free++;
+            }
+        }
+        return free;
+    }
+}
@@ -0,0 +1,267 @@
+package com.minekarta.playerauction.mailbox;
+
+import com.minekarta.playerauction.auction.model.Auction;
+import com.minekarta.playerauction.common.SerializedItem;
+import com.minekarta.playerauction.config.ConfigManager;
+import com.minekarta.playerauction.economy.EconomyRouter;
+import com.minekarta.playerauction.mailbox.model.MailboxEntry;
+import com.minekarta.playerauction.storage.MailboxStorage;
+import com.minekarta.playerauction.storage.PageCursor;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the items and money players are owed until they can be handed over, e.g. while they are offline or
+ * their inventory is full.
+ * <p>
+ * Entries are claimed in storage before they are handed over, so an entry is never delivered twice even when
+ * the GUI and the join delivery race for it. Bulk deliveries run a batch per tick through {@link MailboxDelivery}.
+ */
+public class MailboxService implements Listener {
+
+    private final JavaPlugin plugin;
+    private final MailboxStorage mailboxStorage;
+    private final EconomyRouter economyRouter;
+    private final ConfigManager configManager;
+    private final Set<UUID> delivering = ConcurrentHashMap.newKeySet();
+
+    public MailboxService(JavaPlugin plugin, MailboxStorage mailboxStorage, EconomyRouter economyRouter, ConfigManager configManager) {
+        this.plugin = plugin;
+        this.mailboxStorage = mailboxStorage;
+        this.economyRouter = economyRouter;
+        this.configManager = configManager;
+    }
+
+    public CompletableFuture<Void> deposit(List<MailboxEntry> entries) {
+        return mailboxStorage.deposit(entries);
+    }
+
+    /**
+     * Puts the item of {@code auction} in {@code player}'s mailbox and, if they are online and have room, hands
+     * it over straight away. Storing it first means it survives a crash or shutdown before the handover.
+     * @return A future that completes once the item is stored, or handed over directly if it could not be.
+     */
+    public CompletableFuture<Void> send(Player player, Auction auction, String source) {
+        return send(player, auction, source, UUID.randomUUID());
+    }
+
+    /**
+     * Like {@link #send(Player, Auction, String)}, storing the entry under {@code entryId}. Sending again
+     * under the same id, e.g. from settlement recovery, stores nothing twice.
+     */
+    public CompletableFuture<Void> send(Player player, Auction auction, String source, UUID entryId) {
+        MailboxEntry entry = new MailboxEntry(entryId, player.getUniqueId(), auction.id(), auction.item(), 0, source, System.currentTimeMillis());
+        return mailboxStorage.deposit(List.of(entry)).handle((v, ex) -> {
+            if (ex != null) {
+                // Without a mailbox entry the item only exists in memory, so hand it over now
+                ex.printStackTrace();
+                if (!runOnMainThread(() -> giveOrDrop(player, auction.item().toItemStack()))) {
+                    plugin.getLogger().severe("Could not mail or hand over the item of auction " + auction.id() + " to " + player.getName() + " during shutdown.");
+                }
+                return null;
+            }
+            runOnMainThread(() -> {
+                if (!player.isOnline()) {
+                    return;
+                }
+                if (player.getInventory().firstEmpty() == -1) {
+                    player.sendMessage(configManager.getPrefixedMessage("mailbox.item-mailed", "{item}", auction.metadata().materialName()));
+                    return;
+                }
+                claim(player, List.of(entry));
+            });
+            return null;
+        });
+    }
+
+    private void giveOrDrop(Player player, ItemStack item) {
+        for (ItemStack rest : player.getInventory().addItem(item).values()) {
+            player.getWorld().dropItem(player.getLocation(), rest);
+        }
+    }
+
+    /**
+     * Mails an entry. If the mailbox cannot be written, the item is dropped at the player as a last resort
+     * rather than lost.
+     */
+    private CompletableFuture<Void> mailOrDrop(Player player, MailboxEntry entry, ItemStack item) {
+        return mailboxStorage.deposit(List.of(entry)).exceptionally(ex -> {
+            plugin.getLogger().severe("Could not mail " + item.getType() + " to " + player.getName() + "; dropping it instead.");
+            ex.printStackTrace();
+            if (!runOnMainThread(() -> giveOrDrop(player, item))) {
+                plugin.getLogger().severe("Could not drop " + item.getType() + " for " + player.getName() + " during shutdown.");
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Starts handing a player's whole mailbox over, a batch per tick, unless a delivery is already running.
+     */
+    public void deliver(Player player) {
+        if (delivering.add(player.getUniqueId())) {
+            new MailboxDelivery(this, player, configManager.getSettings().mailboxDeliveryBatchSize()).runTaskTimer(plugin, 1, 1);
+        }
+    }
+
+    void finishDelivery(Player player, int delivered, int leftBehind) {
+        delivering.remove(player.getUniqueId());
+        if (!player.isOnline()) {
+            return;
+        }
+        if (delivered > 0) {
+            player.sendMessage(configManager.getPrefixedMessage("mailbox.delivered", "{count}", String.valueOf(delivered)));
+        }
+        if (leftBehind > 0) {
+            player.sendMessage(configManager.getPrefixedMessage("mailbox.inventory-full", "{count}", String.valueOf(leftBehind)));
+        }
+    }
+
+    public CompletableFuture<List<MailboxEntry>> getPending(UUID playerId, @Nullable PageCursor after, int limit) {
+        return mailboxStorage.findPending(playerId, after, limit);
+    }
+
+    public CompletableFuture<Integer> countPending(UUID playerId) {
+        return mailboxStorage.countPending(playerId);
+    }
+
+    /**
+     * Claims the given entries for {@code player} and hands over those this call won, on the main thread.
+     * The caller must have checked that the items fit; items that still do not are mailed back.
+     * @return A future completing with the entries handed over.
+     */
+    public CompletableFuture<List<MailboxEntry>> claim(Player player, List<MailboxEntry> entries) {
+        if (entries.isEmpty() || !plugin.isEnabled()) {
+            // Once the plugin is disabling nothing can be handed over, so leave the entries in the mailbox
+            return CompletableFuture.completedFuture(List.of());
+        }
+        List<UUID> ids = new ArrayList<>(entries.size());
+        for (MailboxEntry entry : entries) {
+            if (isReadable(entry)) {
+                ids.add(entry.id());
+            } else {
+                // Claiming it would take it out of the mailbox without anything to hand over
+                plugin.getLogger().warning("Mailbox entry " + entry.id() + " of " + player.getName() + " holds an item that cannot be decoded; leaving it in the mailbox.");
+            }
+        }
+        if (ids.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        return mailboxStorage.claim(player.getUniqueId(), ids).thenCompose(claimedIds -> {
+            Set<UUID> won = new HashSet<>(claimedIds);
+            List<MailboxEntry> claimed = new ArrayList<>(won.size());
+            for (MailboxEntry entry : entries) {
+                if (won.contains(entry.id())) {
+                    claimed.add(entry);
+                }
+            }
+            CompletableFuture<List<MailboxEntry>> handedOver = new CompletableFuture<>();
+            boolean scheduled = runOnMainThread(() -> {
+                for (MailboxEntry entry : claimed) {
+                    handOver(player, entry);
+                }
+                handedOver.complete(claimed);
+            });
+            if (!scheduled) {
+                // Disabled between the claim and the handover, so put the entries back for the next join
+                List<MailboxEntry> returned = new ArrayList<>(claimed.size());
+                for (MailboxEntry entry : claimed) {
+                    returned.add(new MailboxEntry(UUID.randomUUID(), entry.playerUuid(), entry.auctionId(), entry.item(), entry.amount(), entry.source(), System.currentTimeMillis()));
+                }
+                return mailboxStorage.deposit(returned).thenApply(v -> List.<MailboxEntry>of());
+            }
+            return handedOver;
+        });
+    }
+
+    /**
+     * @return Whether the entry's item, if any, can be decoded on this server.
+     */
+    public static boolean isReadable(MailboxEntry entry) {
+        if (!entry.hasItem()) {
+            return true;
+        }
+        try {
+            entry.item().toItemStack();
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private void handOver(Player player, MailboxEntry entry) {
+        if (entry.amount() > 0) {
+            economyRouter.getService()
+                    .deposit(player.getUniqueId(), entry.amount(), "Mailbox " + entry.source().toLowerCase())
+                    .exceptionallyCompose(ex -> {
+                        // Already claimed, so put the money back in the mailbox instead of losing it
+                        ex.printStackTrace();
+                        return mailboxStorage.deposit(List.of(MailboxEntry.money(player.getUniqueId(), entry.auctionId(), entry.amount(), entry.source())));
+                    });
+        }
+        if (entry.hasItem()) {
+            ItemStack item = entry.item().toItemStack();
+            Map<Integer, ItemStack> leftover = player.getInventory().addItem(item);
+            for (ItemStack rest : leftover.values()) {
+                MailboxEntry returned = new MailboxEntry(UUID.randomUUID(), player.getUniqueId(), entry.auctionId(),
+                        SerializedItem.fromItemStack(rest), 0, entry.source(), System.currentTimeMillis());
+                mailOrDrop(player, returned, rest);
+            }
+        }
+    }
+
+    @EventHandler
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        mailboxStorage.countPending(player.getUniqueId()).thenAccept(count -> {
+            if (count == 0) {
+                return;
+            }
+            plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+                if (!player.isOnline()) {
+                    return;
+                }
+                if (configManager.getSettings().mailboxEnabled()) {
+                    deliver(player);
+                } else {
+                    player.sendMessage(configManager.getPrefixedMessage("mailbox.items_waiting", "{count}", String.valueOf(count)));
+                }
+            }, 20L); // Let the player finish joining first
+        });
+    }
+
+    MailboxStorage getMailboxStorage() {
+        return mailboxStorage;
+    }
+
+    /**
+     * Runs {@code task} on the main thread, unless the plugin is disabling: shutdown blocks the main thread
+     * and the scheduler refuses new tasks, so stored entries wait for the player's next join instead.
+     * @return Whether the task ran or was scheduled.
+     */
+    private boolean runOnMainThread(Runnable task) {
+        if (Bukkit.isPrimaryThread()) {
+            task.run();
+        } else if (plugin.isEnabled()) {
+            plugin.getServer().getScheduler().runTask(plugin, task);
+        } else {
+            return false;
+        }
+        return true;
+    }
+}
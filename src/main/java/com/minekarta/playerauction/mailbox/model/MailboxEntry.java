@@ -0,0 +1,47 @@
+package com.minekarta.playerauction.mailbox.model;
+
+import com.minekarta.playerauction.auction.model.Auction;
+import com.minekarta.playerauction.common.SerializedItem;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * Something owed to a player that could not be handed over directly: an item, money, or both.
+ *
+ * @param id The entry's unique id.
+ * @param playerUuid The player it is owed to.
+ * @param auctionId The auction it came from, if any.
+ * @param item The item owed, or null for money only.
+ * @param amount The money owed, 0 for an item only.
+ * @param source Why it is owed, e.g. {@code EXPIRED}, {@code PURCHASE}, {@code CANCELLED} or {@code REFUND}.
+ * @param createdAt When it was deposited.
+ */
+public record MailboxEntry(
+    UUID id,
+    UUID playerUuid,
+    @Nullable UUID auctionId,
+    @Nullable SerializedItem item,
+    double amount,
+    String source,
+    long createdAt
+) {
+
+    /**
+     * @return An entry holding the item of {@code auction}.
+     */
+    public static MailboxEntry item(UUID playerUuid, Auction auction, String source) {
+        return new MailboxEntry(UUID.randomUUID(), playerUuid, auction.id(), auction.item(), 0, source, System.currentTimeMillis());
+    }
+
+    /**
+     * @return An entry holding money.
+     */
+    public static MailboxEntry money(UUID playerUuid, @Nullable UUID auctionId, double amount, String source) {
+        return new MailboxEntry(UUID.randomUUID(), playerUuid, auctionId, null, amount, source, System.currentTimeMillis());
+    }
+
+    public boolean hasItem() {
+        return item != null;
+    }
+}
@@ -1,22 +1,53 @@
 package com.minekarta.playerauction.notification;
 
 import com.minekarta.playerauction.PlayerAuction;
+import com.minekarta.playerauction.config.AuctionSettings;
 import com.minekarta.playerauction.config.ConfigManager;
 import me.clip.placeholderapi.PlaceholderAPI;
 import org.bukkit.Bukkit;
-import org.bukkit.Sound;
 import org.bukkit.entity.Player;
-import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Queues notifications from any thread and sends them on the main thread, from {@link #flushDue()} each tick.
+ * <p>
+ * A player's notifications are collected for a short window; several arriving together, e.g. from one expiry
+ * sweep, are sent as a single digest such as "12 items expired, 3 sold for $4,200". A title or sound is not
+ * repeated while the previous one is still playing.
+ */
 public class NotificationManager {
 
+    /**
+     * What a notification reports, for merging several into a digest.
+     */
+    public enum Kind { SOLD, EXPIRED, OTHER }
+
+    private record Notification(Kind kind, String messageKey, Map<String, String> placeholders, double amount) {}
+
+    private static final class PlayerQueue {
+        private final long firstAt = System.currentTimeMillis();
+        private final List<Notification> notifications = new ArrayList<>();
+    }
+
+    // Matches the fade-in, stay and fade-out ticks titles are sent with
+    private static final long TITLE_MILLIS = (10 + 70 + 20) * 50;
+
     private final PlayerAuction plugin;
     private final ConfigManager configManager;
     private final com.minekarta.playerauction.players.PlayerSettingsService playerSettingsService;
     private final boolean placeholderApiEnabled;
+    private final Map<UUID, PlayerQueue> pending = new ConcurrentHashMap<>();
+    // Main thread only
+    private final Map<UUID, Long> lastTitleAt = new HashMap<>();
+    private final Map<UUID, Long> lastSoundAt = new HashMap<>();
 
     public NotificationManager(PlayerAuction plugin, ConfigManager configManager, com.minekarta.playerauction.players.PlayerSettingsService playerSettingsService) {
         this.plugin = plugin;
@@ -26,32 +57,118 @@ public class NotificationManager {
     }
 
     public void sendNotification(Player player, String messageKey, Map<String, String> placeholders) {
-        if (player == null || !player.isOnline() || !playerSettingsService.getNotificationsEnabled(player)) {
+        sendNotification(player, Kind.OTHER, messageKey, placeholders, 0);
+    }
+
+    /**
+     * Queues a notification for {@code player}. Safe to call from any thread.
+     * @param amount The money the notification reports, summed in digests, e.g. a sale's proceeds.
+     */
+    public void sendNotification(Player player, Kind kind, String messageKey, Map<String, String> placeholders, double amount) {
+        if (player == null) {
             return;
         }
+        Notification notification = new Notification(kind, messageKey, Map.copyOf(placeholders), amount);
+        pending.compute(player.getUniqueId(), (id, queue) -> {
+            PlayerQueue target = queue != null ? queue : new PlayerQueue();
+            target.notifications.add(notification);
+            return target;
+        });
+    }
 
-        List<String> methods = configManager.getConfig().getStringList("auction.notification-methods");
-        String message = configManager.getMessage(messageKey);
+    /**
+     * Sends the notifications of every player whose window has passed. Must run on the main thread.
+     */
+    public void flushDue() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long window = configManager.getSettings().notifications().digestWindowMillis();
+        for (Map.Entry<UUID, PlayerQueue> entry : pending.entrySet()) {
+            PlayerQueue queue = entry.getValue();
+            if (now - queue.firstAt < window || !pending.remove(entry.getKey(), queue)) {
+                continue;
+            }
+            // Removed from the map, so no other thread adds to this queue any more
+            Player player = Bukkit.getPlayer(entry.getKey());
+            if (player == null || !player.isOnline() || !playerSettingsService.getNotificationsEnabled(player)) {
+                continue;
+            }
+            String message = queue.notifications.size() == 1 ? render(queue.notifications.get(0)) : digest(queue.notifications);
+            if (message != null) {
+                send(player, message, now);
+            }
+        }
+        // Forget players whose title and sound have long finished
+        lastTitleAt.values().removeIf(at -> now - at >= TITLE_MILLIS);
+        lastSoundAt.values().removeIf(at -> now - at >= TITLE_MILLIS);
+    }
+
+    private String render(Notification notification) {
+        return configManager.getTemplate(notification.messageKey()).render(notification.placeholders());
+    }
 
-        // Replace custom placeholders
-        for (Map.Entry<String, String> entry : placeholders.entrySet()) {
-            message = message.replace(entry.getKey(), entry.getValue());
+    /**
+     * @return One message summing up {@code notifications}, or null if there is nothing to send.
+     */
+    @Nullable
+    private String digest(List<Notification> notifications) {
+        int sold = 0;
+        int expired = 0;
+        double proceeds = 0;
+        // Notifications that cannot be summed up are sent as they are, one line each
+        Map<String, Notification> others = new LinkedHashMap<>();
+        for (Notification notification : notifications) {
+            switch (notification.kind()) {
+                case SOLD -> {
+                    sold++;
+                    proceeds += notification.amount();
+                }
+                case EXPIRED -> expired++;
+                default -> others.putIfAbsent(notification.messageKey() + notification.placeholders(), notification);
+            }
         }
 
+        List<String> parts = new ArrayList<>();
+        if (expired > 0) {
+            parts.add(configManager.getMessage("auction.digest-expired", "{count}", String.valueOf(expired)));
+        }
+        if (sold > 0) {
+            parts.add(configManager.getMessage("auction.digest-sold", "{count}", String.valueOf(sold),
+                "{amount}", plugin.getEconomyRouter().getService().format(proceeds)));
+        }
+        List<String> lines = new ArrayList<>();
+        if (!parts.isEmpty()) {
+            String summary = String.join(configManager.getMessage("auction.digest-separator"), parts);
+            lines.add(configManager.getMessage("auction.digest", "{summary}", summary));
+        }
+        for (Notification other : others.values()) {
+            lines.add(render(other));
+        }
+        return lines.isEmpty() ? null : String.join("\n", lines);
+    }
+
+    private void send(Player player, String message, long now) {
         // Apply PlaceholderAPI placeholders
         if (placeholderApiEnabled) {
             message = PlaceholderAPI.setPlaceholders(player, message);
         }
 
-        for (String method : methods) {
-            switch (method.toLowerCase()) {
+        AuctionSettings.Notifications settings = configManager.getSettings().notifications();
+        for (String method : settings.methods()) {
+            switch (method) {
                 case "chat":
                     player.sendMessage(message);
                     break;
                 case "actionbar":
-                    player.sendActionBar(message);
+                    // The action bar shows a single line
+                    player.sendActionBar(message.split("\n", 2)[0]);
                     break;
                 case "title":
+                    if (recentlySent(lastTitleAt, player, now)) {
+                        break;
+                    }
                     // Titles can be split into title and subtitle with a newline
                     String[] parts = message.split("\n", 2);
                     String title = parts[0];
@@ -59,13 +176,24 @@ public class NotificationManager {
                     player.sendTitle(title, subtitle, 10, 70, 20); // Default fade-in, stay, fade-out times
                     break;
                 case "sound":
-                    // Make the sound configurable
-                    String soundName = configManager.getConfig().getString("auction.notification-sound", "BLOCK_NOTE_BLOCK_PLING");
-                    float volume = (float) configManager.getConfig().getDouble("auction.notification-sound-volume", 1.0);
-                    float pitch = (float) configManager.getConfig().getDouble("auction.notification-sound-pitch", 1.0);
-                    player.playSound(player.getLocation(), soundName, volume, pitch);
+                    if (recentlySent(lastSoundAt, player, now)) {
+                        break;
+                    }
+                    player.playSound(player.getLocation(), settings.sound(), settings.volume(), settings.pitch());
                     break;
             }
         }
     }
+
+    /**
+     * @return Whether {@code player} was sent the same effect while it may still be playing; records it if not.
+     */
+    private static boolean recentlySent(Map<UUID, Long> lastSentAt, Player player, long now) {
+        Long last = lastSentAt.get(player.getUniqueId());
+        if (last != null && now - last < TITLE_MILLIS) {
+            return true;
+        }
+        lastSentAt.put(player.getUniqueId(), now);
+        return false;
+    }
 }
@@ -3,6 +3,7 @@ package com.minekarta.playerauction.storage;
 import com.minekarta.playerauction.auction.model.Auction;
 import com.minekarta.playerauction.gui.model.AuctionCategory;
 import com.minekarta.playerauction.gui.model.SortOrder;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 import java.util.Optional;
@@ -30,16 +31,37 @@ public interface AuctionStorage {
      */
     CompletableFuture<List<Auction>> findActiveAuctions(int page, int limit, AuctionCategory category, SortOrder sortOrder, String searchQuery);
 
+    /**
+     * Finds the page of active auctions that follows {@code after} in the given order,
+     * or the first page when {@code after} is null.
+     */
+    CompletableFuture<List<Auction>> findActiveAfter(@Nullable PageCursor after, int limit, AuctionCategory category, SortOrder sortOrder, String searchQuery);
+
+    /**
+     * Loads every ACTIVE auction, used to seed the in-memory index at startup.
+     */
+    CompletableFuture<List<Auction>> findAllActive();
+
     /**
      * Finds auctions listed by a specific seller.
      */
     CompletableFuture<List<Auction>> findBySeller(UUID seller, int limit, int offset);
 
+    /**
+     * Finds the page of a seller's auctions, newest first, that follows {@code after}.
+     */
+    CompletableFuture<List<Auction>> findBySellerAfter(UUID seller, @Nullable PageCursor after, int limit);
+
     /**
      * Finds player's auction history.
      */
     CompletableFuture<List<Auction>> findPlayerHistory(UUID playerId, int page, int limit);
 
+    /**
+     * Finds the page of a player's finished auctions, newest first, that follows {@code after}.
+     */
+    CompletableFuture<List<Auction>> findPlayerHistoryAfter(UUID playerId, @Nullable PageCursor after, int limit);
+
     /**
      * Counts the number of active auctions for a specific seller.
      */
@@ -62,8 +84,40 @@ public interface AuctionStorage {
      */
     CompletableFuture<Boolean> updateAuctionIfVersionMatches(Auction a, int expectedVersion);
 
+    /**
+     * Claims an auction for a purchase: stores {@code claimed} if the stored version matches
+     * {@code expectedVersion} and records {@code claim} in the settlement journal, in one transaction, so a
+     * crash leaves either both or neither.
+     * @return A future completing with true if the auction was claimed, false if it changed in the meantime,
+     *         or failing if the claim could not be stored.
+     */
+    CompletableFuture<Boolean> claimForSettlement(Auction claimed, int expectedVersion, SettlementEntry claim);
+
+    /**
+     * Re-encodes with the current codec up to {@code batchSize} items still stored in the legacy Base64 format,
+     * in auction id order starting after {@code after}.
+     * @return A future completing with the id to continue after, or empty once no legacy rows are left.
+     */
+    CompletableFuture<Optional<UUID>> reencodeLegacyItems(@Nullable UUID after, int batchSize);
+
+    /**
+     * Computes the listing metadata columns of up to {@code batchSize} rows written before they existed, in
+     * auction id order starting after {@code after}. Rows whose item cannot be decoded are logged and left
+     * without metadata.
+     * @return A future completing with the id to continue after, or empty once no such rows are left.
+     */
+    CompletableFuture<Optional<UUID>> backfillMetadata(@Nullable UUID after, int batchSize);
+
     /**
      * Finds a batch of auctions that have expired as of a given timestamp.
      */
     CompletableFuture<List<Auction>> findExpiredUpTo(long nowEpochMillis, int batchSize);
+
+    /**
+     * Marks up to {@code batchSize} active auctions that ended by {@code nowEpochMillis} as EXPIRED, bumping
+     * their versions, records an EXPIRED transaction for each and puts each item in its seller's mailbox, all in
+     * a single database transaction.
+     * @return A future completing with the auctions as they were expired, or an empty list when none were due.
+     */
+    CompletableFuture<List<Auction>> expireDue(long nowEpochMillis, int batchSize);
 }
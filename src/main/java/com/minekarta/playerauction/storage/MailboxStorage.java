@@ -0,0 +1,53 @@
+package com.minekarta.playerauction.storage;
+
+import com.minekarta.playerauction.mailbox.model.MailboxEntry;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+public interface MailboxStorage {
+    /**
+     * Initializes the storage medium (e.g., creates database tables).
+     */
+    void init();
+
+    /**
+     * Stores entries in their players' mailboxes. Entries whose id is already stored are skipped, so a
+     * deposit can be retried.
+     * @param entries The entries to store.
+     * @return A future that completes once every entry is stored, or completes exceptionally if none were.
+     */
+    CompletableFuture<Void> deposit(List<MailboxEntry> entries);
+
+    /**
+     * Finds the page of a player's unclaimed entries, newest first, that follows {@code after}.
+     * @param playerId The UUID of the player.
+     * @param after The cursor of the last entry on the previous page, or null for the first page.
+     * @param limit The maximum number of entries to return.
+     * @return A future completing with the list of entries.
+     */
+    CompletableFuture<List<MailboxEntry>> findPending(UUID playerId, @Nullable PageCursor after, int limit);
+
+    /**
+     * Counts a player's unclaimed entries.
+     */
+    CompletableFuture<Integer> countPending(UUID playerId);
+
+    /**
+     * Marks entries as claimed by their owner. An entry can be claimed only once, so concurrent claims of
+     * the same entry (e.g. from the GUI and the join delivery) never both succeed.
+     * @param playerId The player claiming the entries.
+     * @param entryIds The ids of the entries to claim.
+     * @return A future completing with the ids this call claimed.
+     */
+    CompletableFuture<List<UUID>> claim(UUID playerId, Collection<UUID> entryIds);
+
+    /**
+     * Deletes up to {@code limit} entries claimed before the given time.
+     * @return A future completing with the number of entries deleted.
+     */
+    CompletableFuture<Integer> purgeClaimedBefore(long epochMillis, int limit);
+}
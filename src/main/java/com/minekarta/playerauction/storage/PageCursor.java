@@ -0,0 +1,65 @@
+package com.minekarta.playerauction.storage;
+
+import com.minekarta.playerauction.auction.model.Auction;
+import com.minekarta.playerauction.gui.model.SortOrder;
+import com.minekarta.playerauction.mailbox.model.MailboxEntry;
+import com.minekarta.playerauction.transaction.model.Transaction;
+
+import java.util.UUID;
+
+/**
+ * An opaque keyset pagination cursor: the (sort key, id) tuple of the last row of the previous page.
+ * <p>
+ * The next page is everything strictly after this tuple in the query's order, so fetching it costs the same
+ * at any depth and rows added or removed on earlier pages never shift later ones. Timestamps are carried in
+ * {@code sortKey} as well; epoch millis are well within the range a double represents exactly.
+ */
+public record PageCursor(double sortKey, UUID id) {
+
+    /**
+     * @return The cursor positioned after {@code last} in an active-listing query sorted by {@code sortOrder}.
+     */
+    public static PageCursor after(Auction last, SortOrder sortOrder) {
+        double key = switch (sortOrder) {
+            case PRICE_ASC, PRICE_DESC -> last.price();
+            case NEWEST -> last.createdAt();
+            case TIME_LEFT -> last.endAt();
+            case RELEVANCE -> throw new IllegalArgumentException("Relevance-ranked results page by offset, use atOffset");
+        };
+        return new PageCursor(key, last.id());
+    }
+
+    /**
+     * Search relevance depends on the whole index and moves as listings come and go, so it cannot anchor a
+     * keyset seek; ranked results page by position instead, carried in {@code sortKey}.
+     * @return The cursor for the ranked result page that starts at {@code offset}.
+     */
+    public static PageCursor atOffset(int offset, UUID lastId) {
+        return new PageCursor(offset, lastId);
+    }
+
+    /**
+     * @return The cursor positioned after {@code last} in a seller or history query, which are newest first.
+     */
+    public static PageCursor after(Auction last) {
+        return new PageCursor(last.createdAt(), last.id());
+    }
+
+    /**
+     * @return The cursor positioned after {@code last} in a transaction history query, which is newest first.
+     */
+    public static PageCursor after(Transaction last) {
+        return new PageCursor(last.timestamp(), last.id());
+    }
+
+    /**
+     * @return The cursor positioned after {@code last} in a mailbox query, which is newest first.
+     */
+    public static PageCursor after(MailboxEntry last) {
+        return new PageCursor(last.createdAt(), last.id());
+    }
+
+    public long timeKey() {
+        return (long) sortKey;
+    }
+}
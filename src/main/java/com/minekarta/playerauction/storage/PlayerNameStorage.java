@@ -0,0 +1,27 @@
+package com.minekarta.playerauction.storage;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+public interface PlayerNameStorage {
+    /**
+     * Initializes the storage medium (e.g., creates database tables).
+     */
+    void init();
+
+    /**
+     * Stores the last known names of players, replacing the names stored for them before.
+     * @param names The names to store, by player UUID.
+     * @return A future that completes once the names are stored.
+     */
+    CompletableFuture<Void> saveNames(Map<UUID, String> names);
+
+    /**
+     * Looks up the stored names of several players in one pass.
+     * @param playerIds The UUIDs of the players.
+     * @return A future completing with the names found, by player UUID; players without a stored name are absent.
+     */
+    CompletableFuture<Map<UUID, String>> findNames(Collection<UUID> playerIds);
+}
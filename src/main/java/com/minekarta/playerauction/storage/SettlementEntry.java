@@ -0,0 +1,59 @@
+package com.minekarta.playerauction.storage;
+
+import java.util.UUID;
+
+/**
+ * One step of a purchase, as recorded in the {@link SettlementJournal}.
+ * <p>
+ * Every entry repeats the full context of its settlement, so the latest entry alone is enough to finish or
+ * undo it. {@code settlementId} is the idempotency key: a step is recorded at most once per settlement.
+ */
+public record SettlementEntry(
+    UUID settlementId,
+    UUID auctionId,
+    Step step,
+    UUID buyerUuid,
+    UUID sellerUuid,
+    double price,
+    double sellerAmount,
+    long timestamp
+) {
+
+    public enum Step {
+        /** The auction is held as PENDING_SETTLEMENT; no money has moved. */
+        CLAIMED,
+        /** The buyer has paid. */
+        PAID,
+        /** The seller has been credited. */
+        CREDITED,
+        /** The buyer has been refunded after the seller could not be credited. */
+        REFUNDED,
+        /** The buyer has the item, but the auction is not yet marked as sold. */
+        DELIVERED,
+        /** Finished: the auction is sold and the buyer has the item. */
+        COMPLETED,
+        /** Finished: the auction is back on sale and no money is owed. */
+        RELEASED,
+        /**
+         * Recorded by recovery before undoing a settlement it cannot tell whether money moved for, e.g. a
+         * payment in flight when the server stopped. Such settlements are kept for an administrator to check
+         * and are never purged.
+         */
+        NEEDS_REVIEW;
+
+        public boolean isFinal() {
+            return this == COMPLETED || this == RELEASED;
+        }
+    }
+
+    public static SettlementEntry claimed(UUID auctionId, UUID buyerUuid, UUID sellerUuid, double price, double sellerAmount) {
+        return new SettlementEntry(UUID.randomUUID(), auctionId, Step.CLAIMED, buyerUuid, sellerUuid, price, sellerAmount, System.currentTimeMillis());
+    }
+
+    /**
+     * @return The entry recording that this settlement reached {@code next}.
+     */
+    public SettlementEntry next(Step next) {
+        return new SettlementEntry(settlementId, auctionId, next, buyerUuid, sellerUuid, price, sellerAmount, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,44 @@
+package com.minekarta.playerauction.storage;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An append-only record of every purchase in progress, so a purchase interrupted by a crash can be finished
+ * or undone on the next start instead of losing the buyer's money or item.
+ */
+public interface SettlementJournal {
+    /**
+     * Initializes the storage medium (e.g., creates database tables).
+     */
+    void init();
+
+    /**
+     * Records a step of a settlement. Recording a step the settlement already reached has no effect.
+     * @param entry The step to record.
+     * @return A future that completes once the step is durable, or completes exceptionally if it could not be recorded.
+     */
+    CompletableFuture<Void> append(SettlementEntry entry);
+
+    /**
+     * Finds the latest step of every settlement that has not finished.
+     * @param startedBefore Only settlements last touched before this time (epoch millis) are returned, so
+     *                      purchases running right now are left alone.
+     * @return A future completing with the latest entry of each unfinished settlement, oldest first.
+     */
+    CompletableFuture<List<SettlementEntry>> findUnfinished(long startedBefore);
+
+    /**
+     * Counts the settlements recorded as {@link SettlementEntry.Step#NEEDS_REVIEW}.
+     * @return A future completing with the number of settlements awaiting manual review.
+     */
+    CompletableFuture<Integer> countNeedingReview();
+
+    /**
+     * Deletes every entry of the settlements that finished before the given time, except those awaiting
+     * manual review.
+     * @param epochMillis The cutoff time.
+     * @return A future completing with the number of entries deleted.
+     */
+    CompletableFuture<Integer> purgeFinishedBefore(long epochMillis);
+}
@@ -1,16 +1,37 @@
 package com.minekarta.playerauction.storage;
 
+import com.minekarta.playerauction.config.ConfigManager;
 import com.minekarta.playerauction.storage.sqlite.SQLiteAuctionStorage;
+import com.minekarta.playerauction.storage.sqlite.SQLiteConnectionManager;
+import com.minekarta.playerauction.storage.sqlite.SQLiteMailboxStorage;
+import com.minekarta.playerauction.storage.sqlite.SQLitePlayerNameStorage;
+import com.minekarta.playerauction.storage.sqlite.SQLiteSettlementJournal;
 import com.minekarta.playerauction.storage.sqlite.SQLiteTransactionStorage;
 import org.bukkit.plugin.java.JavaPlugin;
 
 public class StorageFactory {
 
-    public static AuctionStorage createAuctionStorage(JavaPlugin plugin) {
-        return new SQLiteAuctionStorage(plugin);
+    public static SQLiteConnectionManager createConnectionManager(JavaPlugin plugin, ConfigManager configManager) {
+        return new SQLiteConnectionManager(plugin, configManager.getConfig());
     }
 
-    public static TransactionStorage createTransactionStorage(JavaPlugin plugin) {
-        return new SQLiteTransactionStorage(plugin);
+    public static AuctionStorage createAuctionStorage(JavaPlugin plugin, SQLiteConnectionManager connections) {
+        return new SQLiteAuctionStorage(plugin, connections);
+    }
+
+    public static TransactionStorage createTransactionStorage(JavaPlugin plugin, SQLiteConnectionManager connections) {
+        return new SQLiteTransactionStorage(plugin, connections);
+    }
+
+    public static SettlementJournal createSettlementJournal(JavaPlugin plugin, SQLiteConnectionManager connections) {
+        return new SQLiteSettlementJournal(plugin, connections);
+    }
+
+    public static MailboxStorage createMailboxStorage(JavaPlugin plugin, SQLiteConnectionManager connections) {
+        return new SQLiteMailboxStorage(plugin, connections);
+    }
+
+    public static PlayerNameStorage createPlayerNameStorage(JavaPlugin plugin, SQLiteConnectionManager connections) {
+        return new SQLitePlayerNameStorage(plugin, connections);
     }
 }
@@ -1,6 +1,7 @@
 package com.minekarta.playerauction.storage;
 
 import com.minekarta.playerauction.transaction.model.Transaction;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 import java.util.UUID;
@@ -19,6 +20,13 @@ public interface TransactionStorage {
      */
     CompletableFuture<Void> logTransaction(Transaction transaction);
 
+    /**
+     * Logs several transactions in a single database transaction.
+     * @param transactions The transactions to log.
+     * @return A CompletableFuture that completes when every transaction is stored, or completes exceptionally if none were.
+     */
+    CompletableFuture<Void> logTransactions(List<Transaction> transactions);
+
     /**
      * Finds a list of transactions for a specific player (as either seller or buyer).
      * @param playerId The UUID of the player.
@@ -27,4 +35,13 @@ public interface TransactionStorage {
      * @return A future completing with the list of transactions.
      */
     CompletableFuture<List<Transaction>> findTransactionsByPlayer(UUID playerId, int limit, int offset);
+
+    /**
+     * Finds the page of transactions for a specific player, newest first, that follows {@code after}.
+     * @param playerId The UUID of the player.
+     * @param after The cursor of the last transaction on the previous page, or null for the first page.
+     * @param limit The maximum number of transactions to return.
+     * @return A future completing with the list of transactions.
+     */
+    CompletableFuture<List<Transaction>> findTransactionsByPlayerAfter(UUID playerId, @Nullable PageCursor after, int limit);
 }
@@ -0,0 +1,163 @@
+package com.minekarta.playerauction.storage.sqlite;
+
+import com.minekarta.playerauction.auction.model.ListingMetadata;
+import org.bukkit.ChatColor;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The FTS5 index behind {@code /ah search}.
+ * <p>
+ * {@code auction_search} holds one document per ACTIVE auction, built from its {@link ListingMetadata}: the
+ * material name, display name and enchantments as separately weighted columns, plus the full search text
+ * (which also covers lore). Rows are written and removed in the same transaction as the auction row
+ * they describe, so the index never disagrees with {@code auctions}. Only active listings are indexed, which
+ * keeps a search proportional to the number of matches rather than to the size of the auction history.
+ * <p>
+ * Each document shares its rowid with its auction row, so searches join and removals seek by rowid.
+ * {@code VACUUM} may renumber the rowids of {@code auctions}, so the pairing is verified at startup and the
+ * index rebuilt if it drifted.
+ */
+final class AuctionSearchIndex {
+
+    private final SQLiteConnectionManager connections;
+
+    AuctionSearchIndex(SQLiteConnectionManager connections) {
+        this.connections = connections;
+    }
+
+    /**
+     * Creates the index, rebuilding it from the active auctions when it is new or out of step with them.
+     * Must run on the writer connection.
+     */
+    void init(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            // Superseded by auction_search, which is built from listing metadata instead of decoded items
+            stmt.execute(DROP_LEGACY_FTS_TABLE);
+            stmt.execute(CREATE_FTS_TABLE);
+        }
+        if (!isConsistent(conn)) {
+            rebuild(conn);
+        }
+    }
+
+    private boolean isConsistent(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(COUNT_ALIGNED_DOCUMENTS)) {
+            rs.next();
+            long aligned = rs.getLong(1);
+            long documents = rs.getLong(2);
+            long active = rs.getLong(3);
+            return aligned == documents && documents == active;
+        }
+    }
+
+    private void rebuild(Connection conn) throws SQLException {
+        Map<UUID, ListingMetadata> documents = new LinkedHashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SELECT_ACTIVE_METADATA)) {
+            while (rs.next()) {
+                ListingMetadata metadata = SQLiteAuctionStorage.readMetadata(rs);
+                // Unreadable rows are left out of results everywhere, so they get no document either
+                if (metadata != null) {
+                    documents.put(UUID.fromString(rs.getString("auction_id")), metadata);
+                }
+            }
+        }
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(DELETE_ALL_DOCUMENTS);
+            for (Map.Entry<UUID, ListingMetadata> entry : documents.entrySet()) {
+                index(conn, entry.getKey(), entry.getValue());
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Adds the search document for an auction. The auction row must already exist.
+     * Must run on the writer connection.
+     */
+    void index(Connection conn, UUID auctionId, ListingMetadata metadata) throws SQLException {
+        PreparedStatement ps = connections.prepare(conn, INSERT_DOCUMENT);
+        ps.setString(1, auctionId.toString());
+        ps.setString(2, auctionId.toString());
+        ps.setString(3, metadata.materialName());
+        ps.setString(4, metadata.displayName() != null ? ChatColor.stripColor(metadata.displayName()) : "");
+        ps.setString(5, metadata.enchantments());
+        ps.setString(6, metadata.searchText());
+        ps.executeUpdate();
+    }
+
+    /**
+     * Removes an auction's search document. Must run on the writer connection.
+     */
+    void remove(Connection conn, UUID auctionId) throws SQLException {
+        PreparedStatement ps = connections.prepare(conn, DELETE_DOCUMENT);
+        ps.setString(1, auctionId.toString());
+        ps.executeUpdate();
+    }
+
+    /**
+     * Turns free text into an FTS5 query: every word must match, and each word also matches as a prefix,
+     * so "dia swo" finds a Diamond Sword.
+     * @return The MATCH expression, or null if the text contains no searchable words.
+     */
+    @Nullable
+    static String toMatchQuery(@Nullable String searchQuery) {
+        if (searchQuery == null) {
+            return null;
+        }
+        StringBuilder match = new StringBuilder();
+        for (String token : searchQuery.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            if (match.length() > 0) {
+                match.append(' ');
+            }
+            // Quoting keeps words like "and" or "or" from being read as FTS5 operators
+            match.append('"').append(token).append("\"*");
+        }
+        return match.length() == 0 ? null : match.toString();
+    }
+
+    // Column weights for bm25: auction_id, material, display_name, enchantments, search_text
+    static final String RANK = "bm25(auction_search, 0.0, 3.0, 4.0, 2.0, 1.0)";
+
+    private static final String DROP_LEGACY_FTS_TABLE = "DROP TABLE IF EXISTS auctions_fts;";
+    private static final String CREATE_FTS_TABLE = """
+        CREATE VIRTUAL TABLE IF NOT EXISTS auction_search USING fts5(
+          auction_id UNINDEXED,
+          material,
+          display_name,
+          enchantments,
+          search_text,
+          tokenize = 'unicode61 remove_diacritics 2',
+          prefix = '2 3'
+        )""";
+    private static final String COUNT_ALIGNED_DOCUMENTS = """
+        SELECT
+          (SELECT COUNT(*) FROM auction_search f JOIN auctions a ON a.rowid = f.rowid AND a.auction_id = f.auction_id AND a.status = 'ACTIVE'),
+          (SELECT COUNT(*) FROM auction_search),
+          (SELECT COUNT(*) FROM auctions WHERE status = 'ACTIVE');""";
+    private static final String DELETE_ALL_DOCUMENTS = "DELETE FROM auction_search;";
+    private static final String SELECT_ACTIVE_METADATA = "SELECT * FROM auctions WHERE status = 'ACTIVE';";
+    private static final String INSERT_DOCUMENT = "INSERT INTO auction_search (rowid, auction_id, material, display_name, enchantments, search_text) VALUES ((SELECT rowid FROM auctions WHERE auction_id = ?), ?, ?, ?, ?, ?);";
+    private static final String DELETE_DOCUMENT = "DELETE FROM auction_search WHERE rowid = (SELECT rowid FROM auctions WHERE auction_id = ?);";
+}
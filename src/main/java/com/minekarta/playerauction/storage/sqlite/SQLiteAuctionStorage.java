@@ -2,139 +2,134 @@ package com.minekarta.playerauction.storage.sqlite;
 
 import com.minekarta.playerauction.auction.model.Auction;
 import com.minekarta.playerauction.auction.model.AuctionStatus;
+import com.minekarta.playerauction.auction.model.ListingMetadata;
 import com.minekarta.playerauction.common.SerializedItem;
 import com.minekarta.playerauction.gui.model.AuctionCategory;
 import com.minekarta.playerauction.gui.model.SortOrder;
+import com.minekarta.playerauction.mailbox.model.MailboxEntry;
 import com.minekarta.playerauction.storage.AuctionStorage;
+import com.minekarta.playerauction.storage.PageCursor;
+import com.minekarta.playerauction.storage.SettlementEntry;
+import com.minekarta.playerauction.transaction.model.Transaction;
 import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.Nullable;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Executor;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 public class SQLiteAuctionStorage implements AuctionStorage {
 
     private final JavaPlugin plugin;
-    private final Executor executor;
-    private final String databasePath;
+    private final SQLiteConnectionManager connections;
+    private final AuctionSearchIndex searchIndex;
 
-    public SQLiteAuctionStorage(JavaPlugin plugin) {
+    public SQLiteAuctionStorage(JavaPlugin plugin, SQLiteConnectionManager connections) {
         this.plugin = plugin;
-        this.executor = Executors.newSingleThreadExecutor();
-        this.databasePath = plugin.getDataFolder().getAbsolutePath() + "/auctions.db";
-        createDatabaseDirectory();
-    }
-
-    private void createDatabaseDirectory() {
-        java.io.File dataFolder = plugin.getDataFolder();
-        if (!dataFolder.exists()) {
-            dataFolder.mkdirs();
-        }
-    }
-
-    private Connection getConnection() throws SQLException {
-        return DriverManager.getConnection("jdbc:sqlite:" + databasePath);
+        this.connections = connections;
+        this.searchIndex = new AuctionSearchIndex(connections);
     }
 
     @Override
     public void init() {
-        try (Connection conn = getConnection(); Statement stmt = conn.createStatement()) {
-            stmt.execute("PRAGMA foreign_keys = ON");
-            stmt.execute(CREATE_AUCTIONS_TABLE);
-            stmt.execute(CREATE_AUCTIONS_INDEX);
-            plugin.getLogger().info("SQLite auctions table initialized successfully.");
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Failed to initialize SQLite auction storage.");
-            e.printStackTrace();
-        }
+        connections.supplyWrite(conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(CREATE_AUCTIONS_TABLE);
+                addColumnIfMissing(conn, "item_data", "BLOB NULL");
+                addColumnIfMissing(conn, "item_amount", "INTEGER NULL");
+                addColumnIfMissing(conn, "item_enchantments", "TEXT NULL");
+                addColumnIfMissing(conn, "category", "TEXT NULL");
+                addColumnIfMissing(conn, "search_text", "TEXT NULL");
+                stmt.execute(DROP_LEGACY_ACTIVE_INDEX);
+                for (String index : CREATE_AUCTIONS_INDEXES) {
+                    stmt.execute(index);
+                }
+                searchIndex.init(conn);
+                plugin.getLogger().info("SQLite auctions table initialized successfully.");
+            } catch (SQLException e) {
+                plugin.getLogger().severe("Failed to initialize SQLite auction storage.");
+                e.printStackTrace();
+            }
+            return null;
+        }).join();
     }
 
     @Override
     public CompletableFuture<Optional<Auction>> findById(UUID id) {
-        return CompletableFuture.supplyAsync(() -> {
-            try (Connection conn = getConnection();
-                 PreparedStatement ps = conn.prepareStatement(FIND_BY_ID)) {
+        return connections.supplyRead(conn -> {
+            try {
+                PreparedStatement ps = connections.prepare(conn, FIND_BY_ID);
                 ps.setString(1, id.toString());
                 try (ResultSet rs = ps.executeQuery()) {
                     if (rs.next()) {
-                        return Optional.of(mapRowToAuction(rs));
+                        return Optional.ofNullable(mapRowToAuction(rs));
                     }
                 }
             } catch (SQLException e) {
                 e.printStackTrace();
             }
             return Optional.empty();
-        }, executor);
+        });
     }
 
     @Override
     public CompletableFuture<List<Auction>> findActive(int limit, int offset, AuctionCategory category, SortOrder sortOrder, String searchQuery) {
-        return CompletableFuture.supplyAsync(() -> {
-            List<Auction> auctions = new ArrayList<>();
-
-            StringBuilder sql = new StringBuilder("SELECT * FROM auctions WHERE status = 'ACTIVE'");
-            List<Object> params = new ArrayList<>();
-
-            // Add category filter if specified
-            if (category != AuctionCategory.ALL) {
-                sql.append(" AND item_type = ?");
-                params.add(category.name());
-            }
-
-            // Add search filter if specified
-            if (searchQuery != null && !searchQuery.trim().isEmpty()) {
-                sql.append(" AND (item_type LIKE ? OR item_name LIKE ?)");
-                String searchPattern = "%" + searchQuery.toLowerCase() + "%";
-                params.add(searchPattern);
-                params.add(searchPattern);
-            }
-
-            // Add sorting
-            sql.append(" ORDER BY ");
-            switch (sortOrder) {
-                case PRICE_ASC:
-                    sql.append("price ASC");
-                    break;
-                case PRICE_DESC:
-                    sql.append("price DESC");
-                    break;
-                case NEWEST:
-                    sql.append("created_at DESC");
-                    break;
-                default: // TIME_LEFT
-                    sql.append("end_at ASC");
-            }
+        return queryActive(null, offset, limit, category, sortOrder, searchQuery);
+    }
 
-            // Add pagination
-            sql.append(" LIMIT ? OFFSET ?");
-            params.add(limit);
-            params.add(offset);
+    @Override
+    public CompletableFuture<List<Auction>> findActiveAfter(@Nullable PageCursor after, int limit, AuctionCategory category, SortOrder sortOrder, String searchQuery) {
+        return queryActive(after, 0, limit, category, sortOrder, searchQuery);
+    }
 
-            try (Connection conn = getConnection();
-                 PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+    private CompletableFuture<List<Auction>> queryActive(@Nullable PageCursor after, int offset, int limit, AuctionCategory category, SortOrder sortOrder, String searchQuery) {
+        boolean categoryFilter = category != AuctionCategory.ALL;
+        String matchQuery = AuctionSearchIndex.toMatchQuery(searchQuery);
+        boolean searchFilter = matchQuery != null;
+        boolean keyset = after != null;
+        // Relevance pages by position, see PageCursor.atOffset
+        boolean ranked = searchFilter && sortOrder == SortOrder.RELEVANCE;
+        String sql = ActiveQueryShape.sql(categoryFilter, searchFilter, keyset, sortOrder);
 
-                for (int i = 0; i < params.size(); i++) {
-                    ps.setObject(i + 1, params.get(i));
+        return connections.supplyRead(conn -> {
+            List<Auction> auctions = new ArrayList<>();
+            try {
+                PreparedStatement ps = connections.prepare(conn, sql);
+                int index = 1;
+                if (categoryFilter) {
+                    ps.setString(index++, category.name());
+                }
+                if (searchFilter) {
+                    ps.setString(index++, matchQuery);
+                }
+                if (keyset && !ranked) {
+                    index = bindCursor(ps, index, after, sortOrder == SortOrder.PRICE_ASC || sortOrder == SortOrder.PRICE_DESC);
+                    ps.setInt(index, limit);
+                } else {
+                    ps.setInt(index++, limit);
+                    ps.setInt(index, keyset ? (int) after.sortKey() : offset);
                 }
 
                 try (ResultSet rs = ps.executeQuery()) {
                     while (rs.next()) {
-                        auctions.add(mapRowToAuction(rs));
+                        addIfReadable(auctions, mapRowToAuction(rs));
                     }
                 }
             } catch (SQLException e) {
                 e.printStackTrace();
             }
             return auctions;
-        }, executor);
+        });
     }
 
     @Override
@@ -143,52 +138,76 @@ public class SQLiteAuctionStorage implements AuctionStorage {
     }
 
     @Override
-    public CompletableFuture<List<Auction>> findBySeller(UUID seller, int limit, int offset) {
-        return CompletableFuture.supplyAsync(() -> {
+    public CompletableFuture<List<Auction>> findAllActive() {
+        return connections.supplyRead(conn -> {
             List<Auction> auctions = new ArrayList<>();
-            try (Connection conn = getConnection();
-                 PreparedStatement ps = conn.prepareStatement(FIND_BY_SELLER)) {
-                ps.setString(1, seller.toString());
-                ps.setInt(2, limit);
-                ps.setInt(3, offset);
+            try {
+                PreparedStatement ps = connections.prepare(conn, FIND_ALL_ACTIVE);
                 try (ResultSet rs = ps.executeQuery()) {
                     while (rs.next()) {
-                        auctions.add(mapRowToAuction(rs));
+                        addIfReadable(auctions, mapRowToAuction(rs));
                     }
                 }
             } catch (SQLException e) {
                 e.printStackTrace();
             }
             return auctions;
-        }, executor);
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<Auction>> findBySeller(UUID seller, int limit, int offset) {
+        return querySellerPage(FIND_BY_SELLER, seller, null, limit, offset);
+    }
+
+    @Override
+    public CompletableFuture<List<Auction>> findBySellerAfter(UUID seller, @Nullable PageCursor after, int limit) {
+        return querySellerPage(after == null ? FIND_BY_SELLER : FIND_BY_SELLER_AFTER, seller, after, limit, 0);
     }
 
     @Override
     public CompletableFuture<List<Auction>> findPlayerHistory(UUID playerId, int page, int limit) {
-        return CompletableFuture.supplyAsync(() -> {
+        return querySellerPage(FIND_PLAYER_HISTORY, playerId, null, limit, (page - 1) * limit);
+    }
+
+    @Override
+    public CompletableFuture<List<Auction>> findPlayerHistoryAfter(UUID playerId, @Nullable PageCursor after, int limit) {
+        return querySellerPage(after == null ? FIND_PLAYER_HISTORY : FIND_PLAYER_HISTORY_AFTER, playerId, after, limit, 0);
+    }
+
+    /**
+     * Runs one of the newest-first seller queries, either by offset or after a cursor depending on {@code sql}.
+     */
+    private CompletableFuture<List<Auction>> querySellerPage(String sql, UUID seller, @Nullable PageCursor after, int limit, int offset) {
+        return connections.supplyRead(conn -> {
             List<Auction> auctions = new ArrayList<>();
-            try (Connection conn = getConnection();
-                 PreparedStatement ps = conn.prepareStatement(FIND_PLAYER_HISTORY)) {
-                ps.setString(1, playerId.toString());
-                ps.setInt(2, limit);
-                ps.setInt(3, (page - 1) * limit);
+            try {
+                PreparedStatement ps = connections.prepare(conn, sql);
+                ps.setString(1, seller.toString());
+                if (after != null) {
+                    int index = bindCursor(ps, 2, after, false);
+                    ps.setInt(index, limit);
+                } else {
+                    ps.setInt(2, limit);
+                    ps.setInt(3, offset);
+                }
                 try (ResultSet rs = ps.executeQuery()) {
                     while (rs.next()) {
-                        auctions.add(mapRowToAuction(rs));
+                        addIfReadable(auctions, mapRowToAuction(rs));
                     }
                 }
             } catch (SQLException e) {
                 e.printStackTrace();
             }
             return auctions;
-        }, executor);
+        });
     }
 
     @Override
     public CompletableFuture<Integer> countActiveBySeller(UUID sellerId) {
-        return CompletableFuture.supplyAsync(() -> {
-            try (Connection conn = getConnection();
-                 PreparedStatement ps = conn.prepareStatement(COUNT_ACTIVE_BY_SELLER)) {
+        return connections.supplyRead(conn -> {
+            try {
+                PreparedStatement ps = connections.prepare(conn, COUNT_ACTIVE_BY_SELLER);
                 ps.setString(1, sellerId.toString());
                 try (ResultSet rs = ps.executeQuery()) {
                     if (rs.next()) {
@@ -199,7 +218,7 @@ public class SQLiteAuctionStorage implements AuctionStorage {
                 e.printStackTrace();
             }
             return 0;
-        }, executor);
+        });
     }
 
     @Override
@@ -209,15 +228,15 @@ public class SQLiteAuctionStorage implements AuctionStorage {
 
     @Override
     public CompletableFuture<Void> insertAuction(Auction a) {
-        return CompletableFuture.runAsync(() -> {
-            try (Connection conn = getConnection();
-                 PreparedStatement ps = conn.prepareStatement(INSERT_AUCTION)) {
+        return connections.supplyWriteTransaction(conn -> {
+            try {
+                PreparedStatement ps = connections.prepare(conn, INSERT_AUCTION);
                 ps.setString(1, a.id().toString());
                 ps.setString(2, a.seller().toString());
-                ps.setString(3, a.item().getBase64());
-                ps.setString(4, a.item().toItemStack().getType().name());
-                ps.setString(5, a.item().toItemStack().hasItemMeta() && a.item().toItemStack().getItemMeta().hasDisplayName() ?
-                        a.item().toItemStack().getItemMeta().getDisplayName() : null);
+                // New rows keep their item only in item_data; item_base64 remains for rows from older versions
+                ps.setString(3, "");
+                ps.setString(4, a.metadata().material().name());
+                setNullableString(ps, 5, a.metadata().displayName());
                 ps.setDouble(6, a.price());
                 setNullableDouble(ps, 7, a.buyNowPrice());
                 setNullableDouble(ps, 8, a.reservePrice());
@@ -225,56 +244,341 @@ public class SQLiteAuctionStorage implements AuctionStorage {
                 ps.setLong(10, a.endAt());
                 ps.setString(11, a.status().name());
                 ps.setInt(12, a.version());
+                ps.setBytes(13, a.item().getBytes());
+                ps.setInt(14, a.metadata().amount());
+                ps.setString(15, a.metadata().enchantments());
+                ps.setString(16, a.metadata().category().name());
+                ps.setString(17, a.metadata().searchText());
                 ps.executeUpdate();
+                if (a.status() == AuctionStatus.ACTIVE) {
+                    searchIndex.index(conn, a.id(), a.metadata());
+                }
             } catch (SQLException e) {
-                e.printStackTrace();
+                // Surface the failure so the caller can hand the item back instead of indexing a phantom listing
+                throw new CompletionException(e);
             }
-        }, executor);
+            return null;
+        });
     }
 
     @Override
     public CompletableFuture<Boolean> updateAuctionIfVersionMatches(Auction a, int expectedVersion) {
-        return CompletableFuture.supplyAsync(() -> {
-            try (Connection conn = getConnection();
-                 PreparedStatement ps = conn.prepareStatement(UPDATE_AUCTION_VERSIONED)) {
+        return connections.supplyWriteTransaction(conn -> {
+            try {
+                PreparedStatement ps = connections.prepare(conn, UPDATE_AUCTION_VERSIONED);
                 ps.setString(1, a.status().name());
                 ps.setInt(2, a.version());
                 ps.setString(3, a.id().toString());
                 ps.setInt(4, expectedVersion);
                 int rowsAffected = ps.executeUpdate();
+                if (rowsAffected > 0) {
+                    // Only active listings are searchable; a released purchase claim puts the listing back
+                    if (a.status() == AuctionStatus.ACTIVE) {
+                        searchIndex.index(conn, a.id(), a.metadata());
+                    } else {
+                        searchIndex.remove(conn, a.id());
+                    }
+                }
                 return rowsAffected > 0;
             } catch (SQLException e) {
-                e.printStackTrace();
-                return false;
+                throw new CompletionException(e);
             }
-        }, executor);
+        }).exceptionally(e -> {
+            e.printStackTrace();
+            return false;
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<Auction>> expireDue(long nowEpochMillis, int batchSize) {
+        return connections.supplyWriteTransaction(conn -> {
+            List<Auction> expired = new ArrayList<>();
+            List<Transaction> records = new ArrayList<>();
+            List<MailboxEntry> returns = new ArrayList<>();
+            try {
+                PreparedStatement ps = connections.prepare(conn, EXPIRE_DUE);
+                ps.setLong(1, nowEpochMillis);
+                ps.setInt(2, batchSize);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        Auction auction = mapRowToAuction(rs);
+                        if (auction != null) {
+                            expired.add(auction);
+                        } else {
+                            returnUnreadable(conn, rs, records, returns);
+                        }
+                    }
+                }
+                for (Auction auction : expired) {
+                    searchIndex.remove(conn, auction.id());
+                    records.add(Transaction.of(auction, "EXPIRED", null, auction.price()));
+                    returns.add(MailboxEntry.item(auction.seller(), auction, "EXPIRED"));
+                }
+                SQLiteTransactionStorage.insertTransactions(connections, conn, records);
+                SQLiteMailboxStorage.insertEntries(connections, conn, returns);
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+            return expired;
+        });
+    }
+
+    /**
+     * Returns the item of an expired auction whose item cannot be decoded to its seller as the stored bytes,
+     * so it is not lost with the listing. The auction is left out of the expired list callers update memory from;
+     * it was never loaded into memory either.
+     */
+    private void returnUnreadable(Connection conn, ResultSet rs, List<Transaction> records, List<MailboxEntry> returns) throws SQLException {
+        UUID auctionId = UUID.fromString(rs.getString("auction_id"));
+        UUID seller = UUID.fromString(rs.getString("seller_uuid"));
+        double price = rs.getDouble("price");
+        SerializedItem item;
+        try {
+            item = readItem(rs);
+        } catch (RuntimeException e) {
+            // Not even the raw bytes can be read; the auctions row still holds them for an admin
+            plugin.getLogger().severe("Expired auction " + auctionId + " has corrupt item data; it stays in the auctions table for an admin.");
+            searchIndex.remove(conn, auctionId);
+            return;
+        }
+        plugin.getLogger().warning("Returning the unreadable item of expired auction " + auctionId + " to its seller as stored.");
+        long now = System.currentTimeMillis();
+        searchIndex.remove(conn, auctionId);
+        records.add(new Transaction(UUID.randomUUID(), auctionId, "EXPIRED", null, seller, price, "unreadable item for " + price, item, now));
+        returns.add(new MailboxEntry(UUID.randomUUID(), seller, auctionId, item, 0, "EXPIRED", now));
     }
 
     @Override
     public CompletableFuture<List<Auction>> findExpiredUpTo(long nowEpochMillis, int batchSize) {
-        return CompletableFuture.supplyAsync(() -> {
+        return connections.supplyRead(conn -> {
             List<Auction> auctions = new ArrayList<>();
-            try (Connection conn = getConnection();
-                 PreparedStatement ps = conn.prepareStatement(FIND_EXPIRED)) {
+            try {
+                PreparedStatement ps = connections.prepare(conn, FIND_EXPIRED);
                 ps.setLong(1, nowEpochMillis);
                 ps.setInt(2, batchSize);
                 try (ResultSet rs = ps.executeQuery()) {
                     while (rs.next()) {
-                        auctions.add(mapRowToAuction(rs));
+                        addIfReadable(auctions, mapRowToAuction(rs));
                     }
                 }
             } catch (SQLException e) {
                 e.printStackTrace();
             }
             return auctions;
-        }, executor);
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> claimForSettlement(Auction claimed, int expectedVersion, SettlementEntry claim) {
+        return connections.supplyWriteTransaction(conn -> {
+            try {
+                PreparedStatement ps = connections.prepare(conn, UPDATE_AUCTION_VERSIONED);
+                ps.setString(1, claimed.status().name());
+                ps.setInt(2, claimed.version());
+                ps.setString(3, claimed.id().toString());
+                ps.setInt(4, expectedVersion);
+                if (ps.executeUpdate() == 0) {
+                    return false;
+                }
+                searchIndex.remove(conn, claimed.id());
+                SQLiteSettlementJournal.insert(connections, conn, claim);
+                return true;
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        });
     }
 
+    @Override
+    public CompletableFuture<Optional<UUID>> reencodeLegacyItems(@Nullable UUID after, int batchSize) {
+        return connections.supplyRead(conn -> {
+            Map<String, byte[]> reencoded = new LinkedHashMap<>();
+            try {
+                PreparedStatement ps = connections.prepare(conn, FIND_LEGACY_ITEMS);
+                ps.setString(1, after != null ? after.toString() : "");
+                ps.setInt(2, batchSize);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        String auctionId = rs.getString("auction_id");
+                        try {
+                            ItemStack item = SerializedItem.fromBase64(rs.getString("item_base64")).toItemStack();
+                            reencoded.put(auctionId, SerializedItem.fromItemStack(item).getBytes());
+                        } catch (RuntimeException e) {
+                            // Leave the row readable in its old format; the cursor moves past it either way
+                            plugin.getLogger().warning("Could not re-encode the item of auction " + auctionId + ": " + e.getMessage());
+                            reencoded.put(auctionId, null);
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+            return reencoded;
+        }).thenCompose(reencoded -> {
+            if (reencoded.isEmpty()) {
+                return CompletableFuture.completedFuture(Optional.<UUID>empty());
+            }
+            String last = null;
+            for (String auctionId : reencoded.keySet()) {
+                last = auctionId;
+            }
+            UUID lastId = UUID.fromString(last);
+            return connections.supplyWriteTransaction(conn -> {
+                try {
+                    PreparedStatement ps = connections.prepare(conn, UPDATE_ITEM_DATA);
+                    for (Map.Entry<String, byte[]> entry : reencoded.entrySet()) {
+                        if (entry.getValue() == null) {
+                            continue;
+                        }
+                        ps.setBytes(1, entry.getValue());
+                        ps.setString(2, entry.getKey());
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                } catch (SQLException e) {
+                    throw new CompletionException(e);
+                }
+                return Optional.of(lastId);
+            });
+        });
+    }
+
+    /**
+     * Reads an auction row's item from whichever column holds it: {@code item_data} for rows written by a
+     * codec, {@code item_base64} for rows that have not been re-encoded yet.
+     */
+    static SerializedItem readItem(ResultSet rs) throws SQLException {
+        byte[] data = rs.getBytes("item_data");
+        return data != null ? SerializedItem.fromBytes(data) : SerializedItem.fromBase64(rs.getString("item_base64"));
+    }
+
+    @Override
+    public CompletableFuture<Optional<UUID>> backfillMetadata(@Nullable UUID after, int batchSize) {
+        return connections.supplyRead(conn -> {
+            Map<String, ListingMetadata> computed = new LinkedHashMap<>();
+            try {
+                PreparedStatement ps = connections.prepare(conn, FIND_WITHOUT_METADATA);
+                ps.setString(1, after != null ? after.toString() : "");
+                ps.setInt(2, batchSize);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        String auctionId = rs.getString("auction_id");
+                        try {
+                            computed.put(auctionId, ListingMetadata.of(readItem(rs).toItemStack()));
+                        } catch (RuntimeException e) {
+                            // Leave the metadata columns NULL; the cursor moves past the row either way
+                            plugin.getLogger().warning("Could not compute the listing metadata of auction " + auctionId + ": " + e.getMessage());
+                            computed.put(auctionId, null);
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+            return computed;
+        }).thenCompose(computed -> {
+            if (computed.isEmpty()) {
+                return CompletableFuture.completedFuture(Optional.<UUID>empty());
+            }
+            String last = null;
+            for (String auctionId : computed.keySet()) {
+                last = auctionId;
+            }
+            UUID lastId = UUID.fromString(last);
+            return connections.supplyWriteTransaction(conn -> {
+                try {
+                    PreparedStatement ps = connections.prepare(conn, UPDATE_METADATA);
+                    for (Map.Entry<String, ListingMetadata> entry : computed.entrySet()) {
+                        ListingMetadata metadata = entry.getValue();
+                        if (metadata == null) {
+                            continue;
+                        }
+                        ps.setString(1, metadata.material().name());
+                        setNullableString(ps, 2, metadata.displayName());
+                        ps.setInt(3, metadata.amount());
+                        ps.setString(4, metadata.enchantments());
+                        ps.setString(5, metadata.category().name());
+                        ps.setString(6, metadata.searchText());
+                        ps.setString(7, entry.getKey());
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                } catch (SQLException e) {
+                    throw new CompletionException(e);
+                }
+                return Optional.of(lastId);
+            });
+        });
+    }
+
+    /**
+     * Reads an auction row's precomputed item metadata. Rows whose metadata cannot be read (e.g. a material
+     * that no longer exists under its stored name, or a row the backfill has not reached yet) fall back to
+     * computing it from the item.
+     * @return The metadata, or null if it is not stored and the item cannot be decoded either.
+     */
+    @Nullable
+    static ListingMetadata readMetadata(ResultSet rs) throws SQLException {
+        String category = rs.getString("category");
+        String itemType = rs.getString("item_type");
+        Material material = itemType != null ? Material.getMaterial(itemType) : null;
+        if (category == null || material == null) {
+            try {
+                return ListingMetadata.of(readItem(rs).toItemStack());
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+        return new ListingMetadata(
+            material,
+            rs.getInt("item_amount"),
+            rs.getString("item_name"),
+            rs.getString("item_enchantments"),
+            AuctionCategory.valueOf(category),
+            rs.getString("search_text")
+        );
+    }
+
+    private void addColumnIfMissing(Connection conn, String column, String definition) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA table_info(auctions)")) {
+            while (rs.next()) {
+                if (rs.getString("name").equalsIgnoreCase(column)) {
+                    return;
+                }
+            }
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE auctions ADD COLUMN " + column + " " + definition);
+        }
+        plugin.getLogger().info("Added column " + column + " to the auctions table.");
+    }
+
+    /**
+     * @return The auction, or null if its item cannot be read; such rows are logged and left out of results
+     *         rather than failing the whole query.
+     */
+    @Nullable
     private Auction mapRowToAuction(ResultSet rs) throws SQLException {
+        String auctionId = rs.getString("auction_id");
+        SerializedItem item;
+        ListingMetadata metadata;
+        try {
+            item = readItem(rs);
+            metadata = readMetadata(rs);
+        } catch (RuntimeException e) {
+            plugin.getLogger().warning("Skipping auction " + auctionId + ", its item cannot be read: " + e.getMessage());
+            return null;
+        }
+        if (metadata == null) {
+            plugin.getLogger().warning("Skipping auction " + auctionId + ", its item cannot be read.");
+            return null;
+        }
         return new Auction(
-            UUID.fromString(rs.getString("auction_id")),
+            UUID.fromString(auctionId),
             UUID.fromString(rs.getString("seller_uuid")),
-            SerializedItem.fromBase64(rs.getString("item_base64")),
+            item,
+            metadata,
             rs.getDouble("price"),
             (Double) rs.getObject("buy_now_price"),
             (Double) rs.getObject("reserve_price"),
@@ -285,6 +589,26 @@ public class SQLiteAuctionStorage implements AuctionStorage {
         );
     }
 
+    private static void addIfReadable(List<Auction> auctions, @Nullable Auction auction) {
+        if (auction != null) {
+            auctions.add(auction);
+        }
+    }
+
+    /**
+     * Binds the (sort key, auction_id) tuple of a cursor starting at {@code index}.
+     * @return The next free parameter index.
+     */
+    private int bindCursor(PreparedStatement ps, int index, PageCursor cursor, boolean realKey) throws SQLException {
+        if (realKey) {
+            ps.setDouble(index++, cursor.sortKey());
+        } else {
+            ps.setLong(index++, cursor.timeKey());
+        }
+        ps.setString(index++, cursor.id().toString());
+        return index;
+    }
+
     private void setNullableDouble(PreparedStatement ps, int index, @Nullable Double value) throws SQLException {
         if (value != null) {
             ps.setDouble(index, value);
@@ -301,14 +625,101 @@ public class SQLiteAuctionStorage implements AuctionStorage {
         }
     }
 
+    /**
+     * The shape of an active-listing query: which optional filters are present, whether it pages by cursor or
+     * by offset, and how it is sorted. Every shape maps to one constant SQL string, so each pooled connection
+     * prepares it only once.
+     */
+    private record ActiveQueryShape(boolean categoryFilter, boolean searchFilter, boolean keyset, SortOrder sortOrder) {
+
+        private static final Map<SortOrder, String[]> SQL_BY_SHAPE = new EnumMap<>(SortOrder.class);
+
+        static {
+            for (SortOrder order : SortOrder.values()) {
+                String[] variants = new String[8];
+                for (int i = 0; i < variants.length; i++) {
+                    variants[i] = new ActiveQueryShape((i & 4) != 0, (i & 2) != 0, (i & 1) != 0, order).buildSql();
+                }
+                SQL_BY_SHAPE.put(order, variants);
+            }
+        }
+
+        static String sql(boolean categoryFilter, boolean searchFilter, boolean keyset, SortOrder sortOrder) {
+            return SQL_BY_SHAPE.get(sortOrder)[(categoryFilter ? 4 : 0) | (searchFilter ? 2 : 0) | (keyset ? 1 : 0)];
+        }
+
+        private String buildSql() {
+            // Search runs on the FTS5 index, whose documents share their rowid with the auction row. CROSS JOIN
+            // pins the index as the outer loop, so the cost follows the number of matches instead of the planner
+            // walking a sort index over every active listing and probing each one.
+            StringBuilder sql = new StringBuilder(searchFilter
+                ? "SELECT a.* FROM auction_search CROSS JOIN auctions a ON a.rowid = auction_search.rowid"
+                : "SELECT a.* FROM auctions a");
+            sql.append(" WHERE a.status = 'ACTIVE'");
+
+            // Add category filter if specified
+            if (categoryFilter) {
+                sql.append(" AND a.category = ?");
+            }
+
+            // Add search filter if specified
+            if (searchFilter) {
+                sql.append(" AND auction_search MATCH ?");
+            }
+
+            if (searchFilter && sortOrder == SortOrder.RELEVANCE) {
+                // Ranks shift as the index changes, so ranked results always page by offset
+                sql.append(" ORDER BY ").append(AuctionSearchIndex.RANK).append(", a.auction_id LIMIT ? OFFSET ?");
+                return sql.toString();
+            }
+
+            // Sort key column and direction; auction_id breaks ties so the order is total and cursors are stable
+            String key;
+            boolean descending;
+            switch (sortOrder) {
+                case PRICE_ASC:
+                    key = "a.price";
+                    descending = false;
+                    break;
+                case PRICE_DESC:
+                    key = "a.price";
+                    descending = true;
+                    break;
+                case TIME_LEFT:
+                    key = "a.end_at";
+                    descending = false;
+                    break;
+                default: // NEWEST, or RELEVANCE without a search to rank against
+                    key = "a.created_at";
+                    descending = true;
+            }
+
+            if (keyset) {
+                sql.append(" AND (").append(key).append(", a.auction_id) ").append(descending ? "<" : ">").append(" (?, ?)");
+            }
+
+            String direction = descending ? " DESC" : " ASC";
+            sql.append(" ORDER BY ").append(key).append(direction).append(", a.auction_id").append(direction);
+
+            // Add pagination
+            sql.append(keyset ? " LIMIT ?" : " LIMIT ? OFFSET ?");
+            return sql.toString();
+        }
+    }
+
     // SQL Statements
     private static final String CREATE_AUCTIONS_TABLE = """
         CREATE TABLE IF NOT EXISTS auctions (
           auction_id       TEXT PRIMARY KEY,
           seller_uuid      TEXT NOT NULL,
           item_base64      TEXT NOT NULL,
+          item_data        BLOB NULL,
           item_type        TEXT NOT NULL,
           item_name        TEXT NULL,
+          item_amount      INTEGER NULL,
+          item_enchantments TEXT NULL,
+          category         TEXT NULL,
+          search_text      TEXT NULL,
           price            REAL NOT NULL,
           buy_now_price    REAL NULL,
           reserve_price    REAL NULL,
@@ -318,13 +729,29 @@ public class SQLiteAuctionStorage implements AuctionStorage {
           version          INTEGER NOT NULL
         )""";
 
-    private static final String CREATE_AUCTIONS_INDEX = "CREATE INDEX IF NOT EXISTS idx_auctions_active ON auctions (status, end_at);";
-
-    private static final String INSERT_AUCTION = "INSERT INTO auctions (auction_id, seller_uuid, item_base64, item_type, item_name, price, buy_now_price, reserve_price, created_at, end_at, status, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?);";
+    // One composite index per sort order, each ending in auction_id so keyset seeks land directly on the cursor
+    private static final String[] CREATE_AUCTIONS_INDEXES = {
+        "CREATE INDEX IF NOT EXISTS idx_auctions_active_end ON auctions (status, end_at, auction_id);",
+        "CREATE INDEX IF NOT EXISTS idx_auctions_active_price ON auctions (status, price, auction_id);",
+        "CREATE INDEX IF NOT EXISTS idx_auctions_active_created ON auctions (status, created_at, auction_id);",
+        "CREATE INDEX IF NOT EXISTS idx_auctions_seller_created ON auctions (seller_uuid, created_at, auction_id);"
+    };
+    // Superseded by idx_auctions_active_end
+    private static final String DROP_LEGACY_ACTIVE_INDEX = "DROP INDEX IF EXISTS idx_auctions_active;";
+
+    private static final String INSERT_AUCTION = "INSERT INTO auctions (auction_id, seller_uuid, item_base64, item_type, item_name, price, buy_now_price, reserve_price, created_at, end_at, status, version, item_data, item_amount, item_enchantments, category, search_text) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?);";
+    private static final String FIND_WITHOUT_METADATA = "SELECT auction_id, item_base64, item_data FROM auctions WHERE category IS NULL AND auction_id > ? ORDER BY auction_id LIMIT ?;";
+    private static final String UPDATE_METADATA = "UPDATE auctions SET item_type = ?, item_name = ?, item_amount = ?, item_enchantments = ?, category = ?, search_text = ? WHERE auction_id = ?;";
+    private static final String FIND_LEGACY_ITEMS = "SELECT auction_id, item_base64 FROM auctions WHERE item_data IS NULL AND auction_id > ? ORDER BY auction_id LIMIT ?;";
+    private static final String UPDATE_ITEM_DATA = "UPDATE auctions SET item_data = ?, item_base64 = '' WHERE auction_id = ? AND item_data IS NULL;";
+    private static final String FIND_ALL_ACTIVE = "SELECT * FROM auctions WHERE status = 'ACTIVE';";
     private static final String FIND_BY_ID = "SELECT * FROM auctions WHERE auction_id = ?;";
-    private static final String FIND_BY_SELLER = "SELECT * FROM auctions WHERE seller_uuid = ? ORDER BY created_at DESC LIMIT ? OFFSET ?;";
-    private static final String FIND_PLAYER_HISTORY = "SELECT * FROM auctions WHERE seller_uuid = ? AND status != 'ACTIVE' ORDER BY created_at DESC LIMIT ? OFFSET ?;";
+    private static final String FIND_BY_SELLER = "SELECT * FROM auctions WHERE seller_uuid = ? ORDER BY created_at DESC, auction_id DESC LIMIT ? OFFSET ?;";
+    private static final String FIND_BY_SELLER_AFTER = "SELECT * FROM auctions WHERE seller_uuid = ? AND (created_at, auction_id) < (?, ?) ORDER BY created_at DESC, auction_id DESC LIMIT ?;";
+    private static final String FIND_PLAYER_HISTORY = "SELECT * FROM auctions WHERE seller_uuid = ? AND status != 'ACTIVE' ORDER BY created_at DESC, auction_id DESC LIMIT ? OFFSET ?;";
+    private static final String FIND_PLAYER_HISTORY_AFTER = "SELECT * FROM auctions WHERE seller_uuid = ? AND status != 'ACTIVE' AND (created_at, auction_id) < (?, ?) ORDER BY created_at DESC, auction_id DESC LIMIT ?;";
     private static final String COUNT_ACTIVE_BY_SELLER = "SELECT COUNT(*) FROM auctions WHERE seller_uuid = ? AND status = 'ACTIVE';";
     private static final String FIND_EXPIRED = "SELECT * FROM auctions WHERE status = 'ACTIVE' AND end_at <= ? LIMIT ?;";
+    private static final String EXPIRE_DUE = "UPDATE auctions SET status = 'EXPIRED', version = version + 1 WHERE rowid IN (SELECT rowid FROM auctions WHERE status = 'ACTIVE' AND end_at <= ? ORDER BY end_at LIMIT ?) RETURNING *;";
     private static final String UPDATE_AUCTION_VERSIONED = "UPDATE auctions SET status = ?, version = ? WHERE auction_id = ? AND version = ?;";
-}
\ No newline at end of file
+}
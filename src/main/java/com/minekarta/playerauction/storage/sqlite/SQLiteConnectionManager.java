@@ -0,0 +1,266 @@
+package com.minekarta.playerauction.storage.sqlite;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.sqlite.SQLiteConfig;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Owns every connection to {@code auctions.db}.
+ * <p>
+ * SQLite allows any number of concurrent readers but only one writer, so the manager keeps a single
+ * WAL-mode writer connection behind a single-thread executor and a bounded pool of read-only connections,
+ * one per reader thread. Reads therefore never queue behind writes, and writes from every storage are
+ * serialized without fighting over the file lock.
+ */
+public class SQLiteConnectionManager {
+
+    private final JavaPlugin plugin;
+    private final String url;
+    private final int readerPoolSize;
+    private final String synchronous;
+    private final long mmapSize;
+    private final int cacheSize;
+    private final int busyTimeout;
+    private final int statementCacheSize;
+
+    private final ExecutorService writerExecutor;
+    private final ExecutorService readerExecutor;
+    private final BlockingQueue<Connection> idleReaders;
+    private final List<Connection> readers = new ArrayList<>();
+    private final Map<Connection, StatementCache> statementCaches = new IdentityHashMap<>();
+    private final AtomicLong statementCacheHits = new AtomicLong();
+    private final AtomicLong statementCacheMisses = new AtomicLong();
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+    private Connection writer;
+
+    public SQLiteConnectionManager(JavaPlugin plugin, FileConfiguration config) {
+        this.plugin = plugin;
+        File dataFolder = plugin.getDataFolder();
+        if (!dataFolder.exists()) {
+            dataFolder.mkdirs();
+        }
+        this.url = "jdbc:sqlite:" + new File(dataFolder, "auctions.db").getAbsolutePath();
+        this.readerPoolSize = Math.max(1, config.getInt("database.sqlite.reader-pool-size", 4));
+        this.synchronous = config.getString("database.sqlite.synchronous", "NORMAL").toUpperCase();
+        this.mmapSize = config.getLong("database.sqlite.mmap-size", 268435456L);
+        this.cacheSize = config.getInt("database.sqlite.cache-size", -16000);
+        this.busyTimeout = config.getInt("database.sqlite.busy-timeout", 5000);
+        this.statementCacheSize = Math.max(1, config.getInt("database.sqlite.statement-cache-size", 32));
+
+        this.writerExecutor = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("PlayerAuction-SQLite-Writer").build()
+        );
+        this.readerExecutor = Executors.newFixedThreadPool(
+            readerPoolSize,
+            new ThreadFactoryBuilder().setNameFormat("PlayerAuction-SQLite-Reader-%d").build()
+        );
+        this.idleReaders = new ArrayBlockingQueue<>(readerPoolSize);
+    }
+
+    /**
+     * Opens the writer connection (creating the database and switching it to WAL) and then the reader pool.
+     * Must be called before any storage is initialized.
+     */
+    public void init() throws SQLException {
+        writer = DriverManager.getConnection(url);
+        try (Statement stmt = writer.createStatement()) {
+            stmt.execute("PRAGMA journal_mode = WAL");
+            stmt.execute("PRAGMA foreign_keys = ON");
+        }
+        applyPragmas(writer);
+        statementCaches.put(writer, newStatementCache(writer));
+
+        SQLiteConfig readOnly = new SQLiteConfig();
+        readOnly.setReadOnly(true);
+        for (int i = 0; i < readerPoolSize; i++) {
+            Connection reader = DriverManager.getConnection(url, readOnly.toProperties());
+            applyPragmas(reader);
+            readers.add(reader);
+            statementCaches.put(reader, newStatementCache(reader));
+            idleReaders.add(reader);
+        }
+        plugin.getLogger().info("SQLite opened in WAL mode with 1 writer and " + readerPoolSize + " reader connections.");
+    }
+
+    private StatementCache newStatementCache(Connection conn) {
+        return new StatementCache(conn, statementCacheSize, statementCacheHits, statementCacheMisses);
+    }
+
+    private void applyPragmas(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA synchronous = " + synchronous);
+            stmt.execute("PRAGMA mmap_size = " + mmapSize);
+            stmt.execute("PRAGMA cache_size = " + cacheSize);
+            stmt.execute("PRAGMA busy_timeout = " + busyTimeout);
+        }
+    }
+
+    /**
+     * Runs a read-only query on a pooled reader connection.
+     * Reads run in parallel with each other and with the writer.
+     */
+    public <T> CompletableFuture<T> supplyRead(Function<Connection, T> work) {
+        return CompletableFuture.supplyAsync(() -> {
+            Connection conn;
+            try {
+                conn = idleReaders.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a reader connection", e);
+            }
+            try {
+                return work.apply(conn);
+            } finally {
+                idleReaders.offer(conn);
+            }
+        }, readerExecutor);
+    }
+
+    /**
+     * Runs a statement on the single writer connection. Writes are applied in submission order.
+     */
+    public <T> CompletableFuture<T> supplyWrite(Function<Connection, T> work) {
+        pendingWrites.incrementAndGet();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return work.apply(writer);
+                } finally {
+                    pendingWrites.decrementAndGet();
+                }
+            }, writerExecutor);
+        } catch (RuntimeException e) {
+            // Rejected after drainWrites(); the write never ran
+            pendingWrites.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Runs work on the writer connection inside a single transaction. The transaction commits when the work
+     * returns and rolls back if it throws, so callbacks must rethrow SQL failures (e.g. wrapped in a
+     * {@link CompletionException}) rather than swallow them.
+     */
+    public <T> CompletableFuture<T> supplyWriteTransaction(Function<Connection, T> work) {
+        return supplyWrite(conn -> {
+            try {
+                conn.setAutoCommit(false);
+                T result = work.apply(conn);
+                conn.commit();
+                return result;
+            } catch (SQLException e) {
+                rollbackQuietly(conn);
+                throw new CompletionException(e);
+            } catch (RuntimeException e) {
+                rollbackQuietly(conn);
+                throw e;
+            } finally {
+                try {
+                    conn.setAutoCommit(true);
+                } catch (SQLException e) {
+                    plugin.getLogger().warning("Failed to restore auto-commit on the SQLite writer: " + e.getMessage());
+                }
+            }
+        });
+    }
+
+    private void rollbackQuietly(Connection conn) {
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            plugin.getLogger().warning("Failed to roll back SQLite transaction: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns a prepared statement for {@code sql} from the cache of the given pooled connection,
+     * preparing it on first use. Must only be called from inside a {@link #supplyRead} or
+     * {@link #supplyWrite} callback with the connection that callback received.
+     * The returned statement is owned by the cache and must not be closed.
+     */
+    public PreparedStatement prepare(Connection conn, String sql) throws SQLException {
+        StatementCache cache = statementCaches.get(conn);
+        if (cache == null) {
+            throw new IllegalArgumentException("Connection is not managed by this SQLiteConnectionManager");
+        }
+        return cache.prepare(sql);
+    }
+
+    public long getStatementCacheHits() {
+        return statementCacheHits.get();
+    }
+
+    public long getStatementCacheMisses() {
+        return statementCacheMisses.get();
+    }
+
+    /**
+     * @return The number of writes queued or running on the writer.
+     */
+    public int getPendingWrites() {
+        return pendingWrites.get();
+    }
+
+    /**
+     * Stops accepting work and waits up to {@code timeoutMillis} for the writes already queued to finish.
+     * @return The number of queued writes discarded because the timeout passed.
+     */
+    public int drainWrites(long timeoutMillis) {
+        writerExecutor.shutdown();
+        readerExecutor.shutdown();
+        try {
+            if (writerExecutor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                return 0;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return writerExecutor.shutdownNow().size();
+    }
+
+    /**
+     * Stops both executors and closes every connection. Pending work is discarded; call {@link #drainWrites}
+     * first to keep it.
+     */
+    public void close() {
+        writerExecutor.shutdownNow();
+        readerExecutor.shutdownNow();
+        statementCaches.values().forEach(StatementCache::close);
+        for (Connection reader : readers) {
+            closeQuietly(reader);
+        }
+        if (writer != null) {
+            closeQuietly(writer);
+        }
+    }
+
+    private void closeQuietly(Connection conn) {
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            plugin.getLogger().warning("Failed to close SQLite connection: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.minekarta.playerauction.storage.sqlite;
+
+import com.minekarta.playerauction.common.SerializedItem;
+import com.minekarta.playerauction.mailbox.model.MailboxEntry;
+import com.minekarta.playerauction.storage.MailboxStorage;
+import com.minekarta.playerauction.storage.PageCursor;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+public class SQLiteMailboxStorage implements MailboxStorage {
+
+    private final JavaPlugin plugin;
+    private final SQLiteConnectionManager connections;
+
+    public SQLiteMailboxStorage(JavaPlugin plugin, SQLiteConnectionManager connections) {
+        this.plugin = plugin;
+        this.connections = connections;
+    }
+
+    @Override
+    public void init() {
+        connections.supplyWrite(conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(CREATE_MAILBOX_TABLE);
+                stmt.execute(CREATE_PENDING_INDEX);
+                stmt.execute(CREATE_CLAIMED_INDEX);
+                plugin.getLogger().info("SQLite mailbox table initialized successfully.");
+            } catch (SQLException e) {
+                plugin.getLogger().severe("Failed to initialize SQLite mailbox storage.");
+                e.printStackTrace();
+            }
+            return null;
+        }).join();
+    }
+
+    @Override
+    public CompletableFuture<Void> deposit(List<MailboxEntry> entries) {
+        return connections.supplyWriteTransaction(conn -> {
+            try {
+                insertEntries(connections, conn, entries);
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Inserts entries on the writer connection as part of the caller's database transaction, so other
+     * storages can hand items over in the same commit as the change that frees them.
+     */
+    static void insertEntries(SQLiteConnectionManager connections, Connection conn, List<MailboxEntry> entries) throws SQLException {
+        if (entries.isEmpty()) {
+            return;
+        }
+        PreparedStatement ps = connections.prepare(conn, INSERT_ENTRY);
+        for (MailboxEntry entry : entries) {
+            ps.setString(1, entry.id().toString());
+            ps.setString(2, entry.playerUuid().toString());
+            ps.setString(3, entry.auctionId() != null ? entry.auctionId().toString() : null);
+            ps.setBytes(4, entry.item() != null ? entry.item().getBytes() : null);
+            ps.setDouble(5, entry.amount());
+            ps.setString(6, entry.source());
+            ps.setLong(7, entry.createdAt());
+            ps.addBatch();
+        }
+        ps.executeBatch();
+    }
+
+    @Override
+    public CompletableFuture<List<MailboxEntry>> findPending(UUID playerId, @Nullable PageCursor after, int limit) {
+        // Cursor sentinel for the first page: newer than any real row
+        long afterCreatedAt = after != null ? after.timeKey() : Long.MAX_VALUE;
+        String afterId = after != null ? after.id().toString() : "";
+        return connections.supplyRead(conn -> {
+            List<MailboxEntry> entries = new ArrayList<>();
+            try {
+                PreparedStatement ps = connections.prepare(conn, FIND_PENDING_AFTER);
+                ps.setString(1, playerId.toString());
+                ps.setLong(2, afterCreatedAt);
+                ps.setString(3, afterId);
+                ps.setInt(4, limit);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        entries.add(mapRowToEntry(rs));
+                    }
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+            return entries;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Integer> countPending(UUID playerId) {
+        return connections.supplyRead(conn -> {
+            try {
+                PreparedStatement ps = connections.prepare(conn, COUNT_PENDING);
+                ps.setString(1, playerId.toString());
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next()) {
+                        return rs.getInt(1);
+                    }
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+            return 0;
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<UUID>> claim(UUID playerId, Collection<UUID> entryIds) {
+        long now = System.currentTimeMillis();
+        return connections.supplyWriteTransaction(conn -> {
+            List<UUID> claimed = new ArrayList<>();
+            try {
+                PreparedStatement ps = connections.prepare(conn, CLAIM_ENTRY);
+                for (UUID entryId : entryIds) {
+                    ps.setLong(1, now);
+                    ps.setString(2, entryId.toString());
+                    ps.setString(3, playerId.toString());
+                    if (ps.executeUpdate() > 0) {
+                        claimed.add(entryId);
+                    }
+                }
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+            return claimed;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Integer> purgeClaimedBefore(long epochMillis, int limit) {
+        return connections.supplyWrite(conn -> {
+            try {
+                PreparedStatement ps = connections.prepare(conn, PURGE_CLAIMED);
+                ps.setLong(1, epochMillis);
+                ps.setInt(2, limit);
+                return ps.executeUpdate();
+            } catch (SQLException e) {
+                e.printStackTrace();
+                return 0;
+            }
+        });
+    }
+
+    private MailboxEntry mapRowToEntry(ResultSet rs) throws SQLException {
+        String auctionId = rs.getString("auction_id");
+        byte[] itemData = rs.getBytes("item_data");
+        return new MailboxEntry(
+            UUID.fromString(rs.getString("id")),
+            UUID.fromString(rs.getString("player_uuid")),
+            auctionId != null ? UUID.fromString(auctionId) : null,
+            itemData != null ? SerializedItem.fromBytes(itemData) : null,
+            rs.getDouble("amount"),
+            rs.getString("source"),
+            rs.getLong("created_at")
+        );
+    }
+
+    // SQL Statements
+    private static final String CREATE_MAILBOX_TABLE = """
+        CREATE TABLE IF NOT EXISTS mailbox (
+          id          TEXT PRIMARY KEY,
+          player_uuid TEXT NOT NULL,
+          auction_id  TEXT NULL,
+          item_data   BLOB NULL,
+          amount      REAL NOT NULL DEFAULT 0,
+          source      TEXT NOT NULL,
+          created_at  INTEGER NOT NULL,
+          claimed_at  INTEGER NULL
+        )""";
+
+    // Partial indexes: players only ever read what is pending, and the purge only ever reads what was claimed
+    private static final String CREATE_PENDING_INDEX = "CREATE INDEX IF NOT EXISTS idx_mailbox_pending ON mailbox (player_uuid, created_at, id) WHERE claimed_at IS NULL;";
+    private static final String CREATE_CLAIMED_INDEX = "CREATE INDEX IF NOT EXISTS idx_mailbox_claimed ON mailbox (claimed_at) WHERE claimed_at IS NOT NULL;";
+
+    private static final String INSERT_ENTRY = "INSERT OR IGNORE INTO mailbox (id, player_uuid, auction_id, item_data, amount, source, created_at) VALUES (?, ?, ?, ?, ?, ?, ?);";
+    private static final String FIND_PENDING_AFTER = "SELECT * FROM mailbox WHERE player_uuid = ? AND claimed_at IS NULL AND (created_at, id) < (?, ?) ORDER BY created_at DESC, id DESC LIMIT ?;";
+    private static final String COUNT_PENDING = "SELECT COUNT(*) FROM mailbox WHERE player_uuid = ? AND claimed_at IS NULL;";
+    private static final String CLAIM_ENTRY = "UPDATE mailbox SET claimed_at = ? WHERE id = ? AND player_uuid = ? AND claimed_at IS NULL;";
+    private static final String PURGE_CLAIMED = "DELETE FROM mailbox WHERE rowid IN (SELECT rowid FROM mailbox WHERE claimed_at IS NOT NULL AND claimed_at < ? LIMIT ?);";
+}
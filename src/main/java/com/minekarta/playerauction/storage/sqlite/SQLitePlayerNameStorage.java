@@ -0,0 +1,99 @@
+package com.minekarta.playerauction.storage.sqlite;
+
+import com.minekarta.playerauction.storage.PlayerNameStorage;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+public class SQLitePlayerNameStorage implements PlayerNameStorage {
+
+    private final JavaPlugin plugin;
+    private final SQLiteConnectionManager connections;
+
+    public SQLitePlayerNameStorage(JavaPlugin plugin, SQLiteConnectionManager connections) {
+        this.plugin = plugin;
+        this.connections = connections;
+    }
+
+    @Override
+    public void init() {
+        connections.supplyWrite(conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(CREATE_PLAYER_NAMES_TABLE);
+                plugin.getLogger().info("SQLite player name table initialized successfully.");
+            } catch (SQLException e) {
+                plugin.getLogger().severe("Failed to initialize SQLite player name storage.");
+                e.printStackTrace();
+            }
+            return null;
+        }).join();
+    }
+
+    @Override
+    public CompletableFuture<Void> saveNames(Map<UUID, String> names) {
+        if (names.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long now = System.currentTimeMillis();
+        return connections.supplyWriteTransaction(conn -> {
+            try {
+                PreparedStatement ps = connections.prepare(conn, UPSERT_NAME);
+                for (Map.Entry<UUID, String> entry : names.entrySet()) {
+                    ps.setString(1, entry.getKey().toString());
+                    ps.setString(2, entry.getValue());
+                    ps.setLong(3, now);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Map<UUID, String>> findNames(Collection<UUID> playerIds) {
+        if (playerIds.isEmpty()) {
+            return CompletableFuture.completedFuture(Map.of());
+        }
+        return connections.supplyRead(conn -> {
+            Map<UUID, String> names = new HashMap<>();
+            try {
+                // A primary key seek per player on one connection; a page holds at most a few dozen
+                PreparedStatement ps = connections.prepare(conn, FIND_NAME);
+                for (UUID playerId : playerIds) {
+                    ps.setString(1, playerId.toString());
+                    try (ResultSet rs = ps.executeQuery()) {
+                        if (rs.next()) {
+                            names.put(playerId, rs.getString(1));
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+            return names;
+        });
+    }
+
+    // SQL Statements
+    private static final String CREATE_PLAYER_NAMES_TABLE = """
+        CREATE TABLE IF NOT EXISTS player_names (
+          uuid      TEXT PRIMARY KEY,
+          name      TEXT NOT NULL,
+          last_seen INTEGER NOT NULL
+        ) WITHOUT ROWID""";
+
+    private static final String UPSERT_NAME = "INSERT INTO player_names (uuid, name, last_seen) VALUES (?, ?, ?) ON CONFLICT(uuid) DO UPDATE SET name = excluded.name, last_seen = excluded.last_seen;";
+    private static final String FIND_NAME = "SELECT name FROM player_names WHERE uuid = ?;";
+}
@@ -0,0 +1,159 @@
+package com.minekarta.playerauction.storage.sqlite;
+
+import com.minekarta.playerauction.storage.SettlementEntry;
+import com.minekarta.playerauction.storage.SettlementJournal;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+public class SQLiteSettlementJournal implements SettlementJournal {
+
+    private final JavaPlugin plugin;
+    private final SQLiteConnectionManager connections;
+
+    public SQLiteSettlementJournal(JavaPlugin plugin, SQLiteConnectionManager connections) {
+        this.plugin = plugin;
+        this.connections = connections;
+    }
+
+    @Override
+    public void init() {
+        connections.supplyWrite(conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(CREATE_JOURNAL_TABLE);
+                plugin.getLogger().info("SQLite settlement journal initialized successfully.");
+            } catch (SQLException e) {
+                plugin.getLogger().severe("Failed to initialize SQLite settlement journal.");
+                e.printStackTrace();
+            }
+            return null;
+        }).join();
+    }
+
+    @Override
+    public CompletableFuture<Void> append(SettlementEntry entry) {
+        return connections.supplyWrite(conn -> {
+            try {
+                insert(connections, conn, entry);
+            } catch (SQLException e) {
+                // The caller decides whether it may go on without the entry
+                throw new CompletionException(e);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Records {@code entry} on the writer connection, e.g. inside another storage's transaction.
+     */
+    static void insert(SQLiteConnectionManager connections, Connection conn, SettlementEntry entry) throws SQLException {
+        PreparedStatement ps = connections.prepare(conn, INSERT_ENTRY);
+        ps.setString(1, entry.settlementId().toString());
+        ps.setString(2, entry.auctionId().toString());
+        ps.setString(3, entry.step().name());
+        ps.setString(4, entry.buyerUuid().toString());
+        ps.setString(5, entry.sellerUuid().toString());
+        ps.setDouble(6, entry.price());
+        ps.setDouble(7, entry.sellerAmount());
+        ps.setLong(8, entry.timestamp());
+        ps.executeUpdate();
+    }
+
+    @Override
+    public CompletableFuture<List<SettlementEntry>> findUnfinished(long startedBefore) {
+        return connections.supplyRead(conn -> {
+            List<SettlementEntry> entries = new ArrayList<>();
+            try {
+                PreparedStatement ps = connections.prepare(conn, FIND_UNFINISHED);
+                ps.setLong(1, startedBefore);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        entries.add(mapRowToEntry(rs));
+                    }
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+            return entries;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Integer> countNeedingReview() {
+        return connections.supplyRead(conn -> {
+            try {
+                PreparedStatement ps = connections.prepare(conn, COUNT_NEEDING_REVIEW);
+                try (ResultSet rs = ps.executeQuery()) {
+                    return rs.next() ? rs.getInt(1) : 0;
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+                return 0;
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Integer> purgeFinishedBefore(long epochMillis) {
+        return connections.supplyWrite(conn -> {
+            try {
+                PreparedStatement ps = connections.prepare(conn, PURGE_FINISHED);
+                ps.setLong(1, epochMillis);
+                return ps.executeUpdate();
+            } catch (SQLException e) {
+                e.printStackTrace();
+                return 0;
+            }
+        });
+    }
+
+    private SettlementEntry mapRowToEntry(ResultSet rs) throws SQLException {
+        return new SettlementEntry(
+            UUID.fromString(rs.getString("settlement_id")),
+            UUID.fromString(rs.getString("auction_id")),
+            SettlementEntry.Step.valueOf(rs.getString("step")),
+            UUID.fromString(rs.getString("buyer_uuid")),
+            UUID.fromString(rs.getString("seller_uuid")),
+            rs.getDouble("price"),
+            rs.getDouble("seller_amount"),
+            rs.getLong("created_at")
+        );
+    }
+
+    // SQL Statements
+    private static final String CREATE_JOURNAL_TABLE = """
+        CREATE TABLE IF NOT EXISTS settlement_journal (
+          id            INTEGER PRIMARY KEY AUTOINCREMENT,
+          settlement_id TEXT NOT NULL,
+          auction_id    TEXT NOT NULL,
+          step          TEXT NOT NULL,
+          buyer_uuid    TEXT NOT NULL,
+          seller_uuid   TEXT NOT NULL,
+          price         REAL NOT NULL,
+          seller_amount REAL NOT NULL,
+          created_at    INTEGER NOT NULL,
+          UNIQUE (settlement_id, step)
+        )""";
+
+    private static final String INSERT_ENTRY = "INSERT OR IGNORE INTO settlement_journal (settlement_id, auction_id, step, buyer_uuid, seller_uuid, price, seller_amount, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?);";
+    private static final String FIND_UNFINISHED = """
+        SELECT j.* FROM settlement_journal j
+        WHERE j.id = (SELECT MAX(id) FROM settlement_journal WHERE settlement_id = j.settlement_id)
+          AND j.step NOT IN ('COMPLETED', 'RELEASED')
+          AND j.created_at < ?
+        ORDER BY j.id;""";
+    private static final String COUNT_NEEDING_REVIEW = "SELECT COUNT(*) FROM settlement_journal WHERE step = 'NEEDS_REVIEW';";
+    private static final String PURGE_FINISHED = """
+        DELETE FROM settlement_journal
+        WHERE settlement_id IN (SELECT settlement_id FROM settlement_journal WHERE step IN ('COMPLETED', 'RELEASED') AND created_at < ?)
+          AND settlement_id NOT IN (SELECT settlement_id FROM settlement_journal WHERE step = 'NEEDS_REVIEW');""";
+}
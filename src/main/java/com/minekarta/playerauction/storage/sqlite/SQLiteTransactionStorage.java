@@ -1,85 +1,146 @@
 package com.minekarta.playerauction.storage.sqlite;
 
 import com.minekarta.playerauction.common.SerializedItem;
+import com.minekarta.playerauction.storage.PageCursor;
 import com.minekarta.playerauction.storage.TransactionStorage;
 import com.minekarta.playerauction.transaction.model.Transaction;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.Nullable;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Executor;
+import java.util.concurrent.CompletionException;
 
 public class SQLiteTransactionStorage implements TransactionStorage {
 
     private final JavaPlugin plugin;
-    private final Executor executor;
-    private final String databasePath;
+    private final SQLiteConnectionManager connections;
 
-    public SQLiteTransactionStorage(JavaPlugin plugin) {
+    public SQLiteTransactionStorage(JavaPlugin plugin, SQLiteConnectionManager connections) {
         this.plugin = plugin;
-        this.executor = Executors.newSingleThreadExecutor();
-        this.databasePath = plugin.getDataFolder().getAbsolutePath() + "/auctions.db";
-    }
-
-    private Connection getConnection() throws SQLException {
-        return DriverManager.getConnection("jdbc:sqlite:" + databasePath);
+        this.connections = connections;
     }
 
     @Override
     public void init() {
-        try (Connection conn = getConnection(); Statement stmt = conn.createStatement()) {
-            stmt.execute("PRAGMA foreign_keys = ON");
-            stmt.execute(CREATE_TRANSACTIONS_TABLE);
-            stmt.execute(CREATE_TRANSACTIONS_INDEX);
-            stmt.execute(CREATE_TRANSACTIONS_PLAYER_INDEX);
-            stmt.execute(CREATE_TRANSACTIONS_SELLER_INDEX);
-            plugin.getLogger().info("SQLite transactions table initialized successfully.");
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Failed to initialize SQLite transaction storage.");
-            e.printStackTrace();
-        }
+        connections.supplyWrite(conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(CREATE_TRANSACTIONS_TABLE);
+                stmt.execute(CREATE_TRANSACTIONS_INDEX);
+                stmt.execute(DROP_LEGACY_PLAYER_INDEX);
+                stmt.execute(DROP_LEGACY_SELLER_INDEX);
+                stmt.execute(CREATE_TRANSACTIONS_PLAYER_INDEX);
+                stmt.execute(CREATE_TRANSACTIONS_SELLER_INDEX);
+                plugin.getLogger().info("SQLite transactions table initialized successfully.");
+            } catch (SQLException e) {
+                plugin.getLogger().severe("Failed to initialize SQLite transaction storage.");
+                e.printStackTrace();
+            }
+            return null;
+        }).join();
     }
 
     @Override
     public CompletableFuture<Void> logTransaction(Transaction transaction) {
-        return CompletableFuture.runAsync(() -> {
-            try (Connection conn = getConnection();
-                 PreparedStatement ps = conn.prepareStatement(INSERT_TRANSACTION)) {
-                ps.setString(1, transaction.id().toString());
-                ps.setString(2, transaction.auctionId().toString());
-                ps.setString(3, transaction.actionType());
-                ps.setString(4, transaction.actorUuid() != null ? transaction.actorUuid().toString() : null);
-                ps.setString(5, transaction.sellerUuid() != null ? transaction.sellerUuid().toString() : null);
-                if (transaction.amount() != null) {
-                    ps.setDouble(6, transaction.amount());
-                } else {
-                    ps.setNull(6, Types.DOUBLE);
-                }
-                ps.setString(7, transaction.details());
-                ps.setString(8, transaction.itemSnapshot() != null ? transaction.itemSnapshot().getBase64() : null);
-                ps.setLong(9, transaction.timestamp());
+        return connections.supplyWrite(conn -> {
+            try {
+                PreparedStatement ps = connections.prepare(conn, INSERT_TRANSACTION);
+                bindTransaction(ps, transaction);
                 ps.executeUpdate();
             } catch (SQLException e) {
                 e.printStackTrace();
             }
-        }, executor);
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> logTransactions(List<Transaction> transactions) {
+        return connections.supplyWriteTransaction(conn -> {
+            try {
+                insertTransactions(connections, conn, transactions);
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Inserts transactions on the writer connection as part of the caller's database transaction, so other
+     * storages can record history in the same commit as the change it describes.
+     */
+    static void insertTransactions(SQLiteConnectionManager connections, Connection conn, List<Transaction> transactions) throws SQLException {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        PreparedStatement ps = connections.prepare(conn, INSERT_TRANSACTION);
+        for (Transaction transaction : transactions) {
+            bindTransaction(ps, transaction);
+            ps.addBatch();
+        }
+        ps.executeBatch();
+    }
+
+    private static void bindTransaction(PreparedStatement ps, Transaction transaction) throws SQLException {
+        ps.setString(1, transaction.id().toString());
+        ps.setString(2, transaction.auctionId().toString());
+        ps.setString(3, transaction.actionType());
+        ps.setString(4, transaction.actorUuid() != null ? transaction.actorUuid().toString() : null);
+        ps.setString(5, transaction.sellerUuid() != null ? transaction.sellerUuid().toString() : null);
+        if (transaction.amount() != null) {
+            ps.setDouble(6, transaction.amount());
+        } else {
+            ps.setNull(6, Types.DOUBLE);
+        }
+        ps.setString(7, transaction.details());
+        ps.setString(8, transaction.itemSnapshot() != null ? transaction.itemSnapshot().getBase64() : null);
+        ps.setLong(9, transaction.timestamp());
     }
 
     @Override
     public CompletableFuture<List<Transaction>> findTransactionsByPlayer(UUID playerId, int limit, int offset) {
-        return CompletableFuture.supplyAsync(() -> {
+        return connections.supplyRead(conn -> {
             List<Transaction> transactions = new ArrayList<>();
-            try (Connection conn = getConnection();
-                 PreparedStatement ps = conn.prepareStatement(GET_PLAYER_TRANSACTIONS)) {
+            try {
+                PreparedStatement ps = connections.prepare(conn, GET_PLAYER_TRANSACTIONS);
                 ps.setString(1, playerId.toString());
                 ps.setString(2, playerId.toString());
-                ps.setString(3, playerId.toString());
-                ps.setInt(4, limit);
-                ps.setInt(5, offset);
+                ps.setInt(3, limit);
+                ps.setInt(4, offset);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        transactions.add(mapRowToTransaction(rs));
+                    }
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+            return transactions;
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<Transaction>> findTransactionsByPlayerAfter(UUID playerId, @Nullable PageCursor after, int limit) {
+        // Cursor sentinel for the first page: newer than any real row
+        long afterTimestamp = after != null ? after.timeKey() : Long.MAX_VALUE;
+        String afterId = after != null ? after.id().toString() : "";
+        return connections.supplyRead(conn -> {
+            List<Transaction> transactions = new ArrayList<>();
+            try {
+                PreparedStatement ps = connections.prepare(conn, GET_PLAYER_TRANSACTIONS_AFTER);
+                // The actor and seller halves each seek their own index, then the merged result is trimmed
+                int index = 1;
+                for (int half = 0; half < 2; half++) {
+                    ps.setString(index++, playerId.toString());
+                    ps.setLong(index++, afterTimestamp);
+                    ps.setString(index++, afterId);
+                    ps.setInt(index++, limit);
+                }
+                ps.setInt(index, limit);
                 try (ResultSet rs = ps.executeQuery()) {
                     while (rs.next()) {
                         transactions.add(mapRowToTransaction(rs));
@@ -89,7 +150,7 @@ public class SQLiteTransactionStorage implements TransactionStorage {
                 e.printStackTrace();
             }
             return transactions;
-        }, executor);
+        });
     }
 
     private Transaction mapRowToTransaction(ResultSet rs) throws SQLException {
@@ -127,9 +188,18 @@ public class SQLiteTransactionStorage implements TransactionStorage {
         )""";
 
     private static final String CREATE_TRANSACTIONS_INDEX = "CREATE INDEX IF NOT EXISTS idx_transactions_auction ON transactions (auction_id, timestamp DESC);";
-    private static final String CREATE_TRANSACTIONS_PLAYER_INDEX = "CREATE INDEX IF NOT EXISTS idx_transactions_player ON transactions (actor_uuid, timestamp DESC);";
-    private static final String CREATE_TRANSACTIONS_SELLER_INDEX = "CREATE INDEX IF NOT EXISTS idx_transactions_seller ON transactions (seller_uuid, timestamp DESC);";
+    private static final String CREATE_TRANSACTIONS_PLAYER_INDEX = "CREATE INDEX IF NOT EXISTS idx_transactions_actor_page ON transactions (actor_uuid, timestamp, id);";
+    private static final String CREATE_TRANSACTIONS_SELLER_INDEX = "CREATE INDEX IF NOT EXISTS idx_transactions_seller_page ON transactions (seller_uuid, timestamp, id);";
+    // Superseded by the paging indexes above, which also carry the id tie-breaker
+    private static final String DROP_LEGACY_PLAYER_INDEX = "DROP INDEX IF EXISTS idx_transactions_player;";
+    private static final String DROP_LEGACY_SELLER_INDEX = "DROP INDEX IF EXISTS idx_transactions_seller;";
 
     private static final String INSERT_TRANSACTION = "INSERT INTO transactions (id, auction_id, action_type, actor_uuid, seller_uuid, amount, details, item_snapshot, timestamp) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?);";
-    private static final String GET_PLAYER_TRANSACTIONS = "SELECT * FROM transactions WHERE actor_uuid = ? OR seller_uuid = ? ORDER BY timestamp DESC LIMIT ? OFFSET ?;";
+    private static final String GET_PLAYER_TRANSACTIONS = "SELECT * FROM transactions WHERE actor_uuid = ? OR seller_uuid = ? ORDER BY timestamp DESC, id DESC LIMIT ? OFFSET ?;";
+    private static final String GET_PLAYER_TRANSACTIONS_AFTER = """
+        SELECT * FROM (
+          SELECT * FROM (SELECT * FROM transactions WHERE actor_uuid = ? AND (timestamp, id) < (?, ?) ORDER BY timestamp DESC, id DESC LIMIT ?)
+          UNION
+          SELECT * FROM (SELECT * FROM transactions WHERE seller_uuid = ? AND (timestamp, id) < (?, ?) ORDER BY timestamp DESC, id DESC LIMIT ?)
+        ) ORDER BY timestamp DESC, id DESC LIMIT ?;""";
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.minekarta.playerauction.storage.sqlite;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An LRU cache of prepared statements for one pooled connection, keyed by SQL text.
+ * <p>
+ * A connection is only ever used by one thread at a time, so the cache itself needs no locking;
+ * only the hit and miss counters are shared between all caches of a {@link SQLiteConnectionManager}.
+ * Statements handed out by the cache must not be closed by the caller.
+ */
+final class StatementCache {
+
+    private final Connection connection;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private final LinkedHashMap<String, PreparedStatement> statements;
+
+    StatementCache(Connection connection, int capacity, AtomicLong hits, AtomicLong misses) {
+        this.connection = connection;
+        this.hits = hits;
+        this.misses = misses;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > capacity) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement ps = statements.get(sql);
+        if (ps != null && !ps.isClosed()) {
+            hits.incrementAndGet();
+            ps.clearParameters();
+            return ps;
+        }
+        misses.incrementAndGet();
+        ps = connection.prepareStatement(sql);
+        statements.put(sql, ps);
+        return ps;
+    }
+
+    void close() {
+        statements.values().forEach(StatementCache::closeQuietly);
+        statements.clear();
+    }
+
+    private static void closeQuietly(PreparedStatement ps) {
+        try {
+            ps.close();
+        } catch (SQLException ignored) {
+            // The connection is going away or the statement is already finalized
+        }
+    }
+}
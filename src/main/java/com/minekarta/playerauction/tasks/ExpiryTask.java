@@ -0,0 +1,22 @@
+package com.minekarta.playerauction.tasks;
+
+import com.minekarta.playerauction.auction.AuctionService;
+import org.bukkit.scheduler.BukkitRunnable;
+
+/**
+ * Expires the auctions that came due since the last run, as scheduled by the auction service's
+ * {@link com.minekarta.playerauction.auction.ExpiryScheduler}. Does no I/O when nothing is due.
+ */
+public class ExpiryTask extends BukkitRunnable {
+
+    private final AuctionService auctionService;
+
+    public ExpiryTask(AuctionService auctionService) {
+        this.auctionService = auctionService;
+    }
+
+    @Override
+    public void run() {
+        auctionService.expireDueAuctions();
+    }
+}
@@ -0,0 +1,53 @@
+package com.minekarta.playerauction.tasks;
+
+import com.minekarta.playerauction.storage.AuctionStorage;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Migrates auction rows from the legacy Base64 item format to the configured codec, one batch per run,
+ * and cancels itself once every row has been visited.
+ */
+public class ItemReencodeTask extends BukkitRunnable {
+
+    private final JavaPlugin plugin;
+    private final AuctionStorage auctionStorage;
+    private final int batchSize;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile UUID cursor;
+    private volatile boolean done = false;
+
+    public ItemReencodeTask(JavaPlugin plugin, AuctionStorage auctionStorage, int batchSize) {
+        this.plugin = plugin;
+        this.auctionStorage = auctionStorage;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run() {
+        if (done) {
+            cancel();
+            return;
+        }
+        // Skip this run if the previous batch is still in flight
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        auctionStorage.reencodeLegacyItems(cursor, batchSize).whenComplete((next, ex) -> {
+            if (ex != null) {
+                plugin.getLogger().warning("Item re-encode batch failed, retrying: " + ex.getMessage());
+            } else if (next.isPresent()) {
+                cursor = next.get();
+            } else {
+                done = true;
+                if (cursor != null) {
+                    plugin.getLogger().info("Finished re-encoding legacy auction items.");
+                }
+            }
+            running.set(false);
+        });
+    }
+}
@@ -0,0 +1,55 @@
+package com.minekarta.playerauction.tasks;
+
+import com.minekarta.playerauction.storage.MailboxStorage;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Deletes mailbox entries claimed longer ago than the retention period, a chunk per write so the purge
+ * never holds the writer for long.
+ */
+public class MailboxPurgeTask extends BukkitRunnable {
+
+    private final JavaPlugin plugin;
+    private final MailboxStorage mailboxStorage;
+    private final long retentionMillis;
+    private final int batchSize;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public MailboxPurgeTask(JavaPlugin plugin, MailboxStorage mailboxStorage, int retentionDays, int batchSize) {
+        this.plugin = plugin;
+        this.mailboxStorage = mailboxStorage;
+        this.retentionMillis = TimeUnit.DAYS.toMillis(retentionDays);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Override
+    public void run() {
+        // Skip this run if the previous purge is still in flight
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        purge(System.currentTimeMillis() - retentionMillis, 0).whenComplete((total, ex) -> {
+            if (ex != null) {
+                plugin.getLogger().warning("Mailbox purge failed: " + ex.getMessage());
+            } else if (total > 0) {
+                plugin.getLogger().info("Purged " + total + " claimed mailbox entries.");
+            }
+            running.set(false);
+        });
+    }
+
+    private CompletableFuture<Integer> purge(long cutoff, int purgedSoFar) {
+        return mailboxStorage.purgeClaimedBefore(cutoff, batchSize).thenCompose(purged -> {
+            int total = purgedSoFar + purged;
+            if (purged < batchSize) {
+                return CompletableFuture.completedFuture(total);
+            }
+            return purge(cutoff, total);
+        });
+    }
+}
@@ -0,0 +1,22 @@
+package com.minekarta.playerauction.tasks;
+
+import com.minekarta.playerauction.notification.NotificationManager;
+import org.bukkit.scheduler.BukkitRunnable;
+
+/**
+ * Sends the queued notifications whose digest window has passed. Runs on the main thread every tick and
+ * does nothing when no notifications are queued.
+ */
+public class NotificationTask extends BukkitRunnable {
+
+    private final NotificationManager notificationManager;
+
+    public NotificationTask(NotificationManager notificationManager) {
+        this.notificationManager = notificationManager;
+    }
+
+    @Override
+    public void run() {
+        notificationManager.flushDue();
+    }
+}
@@ -1,18 +1,59 @@
 package com.minekarta.playerauction.transaction;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.minekarta.playerauction.auction.model.Auction;
 import com.minekarta.playerauction.storage.TransactionStorage;
 import com.minekarta.playerauction.transaction.model.Transaction;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
 
+/**
+ * Records auction events in the transaction history.
+ * <p>
+ * Events are queued and written by a dedicated thread in batches of up to {@code batchSize}, each batch in a
+ * single database transaction, at most {@code flushIntervalMillis} after the first event of the batch was
+ * queued. Logging never blocks or waits on the database, which matters because events are logged from
+ * storage callbacks running on the SQLite writer thread; the returned future completes once the event is
+ * stored.
+ * <p>
+ * When the queue is full, further events spill into an unbounded overflow list, with a warning, that the
+ * writer moves back into the queue as it makes room. Events are stored in the order they were logged.
+ */
 public class TransactionLogger {
 
+    private record Pending(Transaction transaction, CompletableFuture<Void> stored) {}
+
     private final TransactionStorage transactionStorage;
+    private final Logger logger;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final BlockingQueue<Pending> queue;
+    // Guarded by this; holds events newer than everything in the queue
+    private final Deque<Pending> overflow = new ArrayDeque<>();
+    private final Thread writer;
+    private volatile boolean running = true;
 
-    public TransactionLogger(TransactionStorage transactionStorage) {
+    public TransactionLogger(TransactionStorage transactionStorage, Logger logger, int queueCapacity, int batchSize, long flushIntervalMillis) {
         this.transactionStorage = transactionStorage;
+        this.logger = logger;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMillis = Math.max(1, flushIntervalMillis);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.writer = new ThreadFactoryBuilder()
+            .setNameFormat("PlayerAuction-TransactionLog")
+            .setDaemon(true)
+            .build()
+            .newThread(this::runWriter);
+        this.writer.start();
     }
 
     public CompletableFuture<Void> log(Auction auction, String status) {
@@ -20,21 +61,137 @@ public class TransactionLogger {
     }
 
     public CompletableFuture<Void> log(Auction auction, String status, UUID buyer, Double price) {
-        Transaction transaction = new Transaction(
-                UUID.randomUUID(),
-                auction.id(),
-                status,
-                buyer,
-                auction.seller(),
-                price,
-                auction.item().toItemStack().getType().toString() + " for " + (price != null ? price : auction.price()),
-                auction.item(),
-                System.currentTimeMillis()
-        );
-        return transactionStorage.logTransaction(transaction);
+        Transaction transaction = Transaction.of(auction, status, buyer, price);
+        return enqueue(transaction);
+    }
+
+    private CompletableFuture<Void> enqueue(Transaction transaction) {
+        Pending pending = new Pending(transaction, new CompletableFuture<>());
+        if (!running) {
+            // Writer stopped: hand the event to the database directly, without waiting for it
+            write(List.of(pending));
+            return pending.stored();
+        }
+        synchronized (this) {
+            // Once anything has spilled, later events spill too so they stay behind it
+            if (overflow.isEmpty() && queue.offer(pending)) {
+                return pending.stored();
+            }
+            if (overflow.isEmpty()) {
+                logger.warning("Transaction log queue is full; keeping further entries in memory until the writer catches up.");
+            }
+            overflow.addLast(pending);
+        }
+        return pending.stored();
+    }
+
+    /**
+     * Moves spilled events back into the queue as far as it has room, oldest first.
+     * @return Whether any events are still spilled.
+     */
+    private synchronized boolean refill() {
+        while (!overflow.isEmpty() && queue.offer(overflow.peekFirst())) {
+            overflow.removeFirst();
+        }
+        return !overflow.isEmpty();
+    }
+
+    private void runWriter() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        boolean spilled = false;
+        while (running || !queue.isEmpty() || spilled) {
+            spilled = refill();
+            try {
+                Pending first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long flushAt = System.currentTimeMillis() + flushIntervalMillis;
+                while (batch.size() < batchSize) {
+                    long wait = flushAt - System.currentTimeMillis();
+                    Pending next = wait > 0 ? queue.poll(wait, TimeUnit.MILLISECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                // Woken by close(); drain whatever is left without waiting
+                queue.drainTo(batch, batchSize - batch.size());
+            }
+            if (!batch.isEmpty()) {
+                // One batch in flight at a time keeps the writer from flooding the SQLite queue
+                write(new ArrayList<>(batch)).join();
+                batch.clear();
+            }
+        }
+    }
+
+    private CompletableFuture<Void> write(List<Pending> batch) {
+        List<Transaction> transactions = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            transactions.add(pending.transaction());
+        }
+        CompletableFuture<Void> stored;
+        try {
+            stored = transactionStorage.logTransactions(transactions);
+        } catch (RuntimeException e) {
+            // The database is already shutting down
+            stored = CompletableFuture.failedFuture(e);
+        }
+        return stored.handle((v, ex) -> {
+            if (ex != null) {
+                logger.warning("Failed to log " + batch.size() + " transactions: " + ex.getMessage());
+            }
+            for (Pending pending : batch) {
+                if (ex != null) {
+                    pending.stored().completeExceptionally(ex);
+                } else {
+                    pending.stored().complete(null);
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Stops the writer after it has written every queued event, waiting at most {@code timeoutMillis}.
+     * Events logged afterwards are written directly.
+     * @return The number of events still queued when the timeout passed.
+     */
+    public int close(long timeoutMillis) {
+        running = false;
+        writer.interrupt();
+        try {
+            writer.join(Math.max(1, timeoutMillis));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            synchronized (this) {
+                return queue.size() + overflow.size();
+            }
+        }
+        // Events that raced the writer's exit are written here
+        List<Pending> rest = new ArrayList<>();
+        synchronized (this) {
+            queue.drainTo(rest);
+            rest.addAll(overflow);
+            overflow.clear();
+        }
+        if (!rest.isEmpty()) {
+            write(rest);
+        }
+        return 0;
     }
 
     public CompletableFuture<java.util.List<Transaction>> getHistory(UUID playerId, int page, int pageSize) {
         return transactionStorage.findTransactionsByPlayer(playerId, pageSize, (page - 1) * pageSize);
     }
+
+    public CompletableFuture<java.util.List<Transaction>> getHistoryAfter(UUID playerId, com.minekarta.playerauction.storage.PageCursor after, int pageSize) {
+        return transactionStorage.findTransactionsByPlayerAfter(playerId, after, pageSize);
+    }
 }
@@ -16,6 +16,23 @@ public record Transaction(
     long timestamp
 ) {
 
+    /**
+     * @return A new record of {@code actionType} happening to {@code auction} now.
+     */
+    public static Transaction of(Auction auction, String actionType, UUID buyer, Double price) {
+        return new Transaction(
+                UUID.randomUUID(),
+                auction.id(),
+                actionType,
+                buyer,
+                auction.seller(),
+                price,
+                auction.metadata().material().toString() + " for " + (price != null ? price : auction.price()),
+                auction.item(),
+                System.currentTimeMillis()
+        );
+    }
+
     // Convenience methods for HistoryGui compatibility
     public String status() { return actionType; }
     public UUID buyerUuid() { return actorUuid; }
@@ -0,0 +1,49 @@
+package com.minekarta.playerauction.util;
+
+import com.minekarta.playerauction.common.ItemCodec;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures every available {@link ItemCodec} against a set of real items, e.g. the contents of an admin's
+ * inventory filled with enchanted gear and shulker boxes. Bypasses the decoded-item cache.
+ */
+public final class CodecBenchmark {
+
+    private CodecBenchmark() {}
+
+    public record Result(ItemCodec codec, double encodeMicros, double decodeMicros, double bytesPerItem) {}
+
+    public static List<Result> run(List<ItemStack> items, int iterations) {
+        List<Result> results = new ArrayList<>();
+        for (ItemCodec codec : ItemCodec.values()) {
+            if (!codec.isAvailable()) {
+                continue;
+            }
+            // Warm up so the first codec measured doesn't pay for class loading and JIT
+            for (ItemStack item : items) {
+                ItemCodec.decode(codec.encode(item));
+            }
+
+            long bytes = 0;
+            long encodeNanos = 0;
+            long decodeNanos = 0;
+            for (int i = 0; i < iterations; i++) {
+                for (ItemStack item : items) {
+                    long start = System.nanoTime();
+                    byte[] data = codec.encode(item);
+                    long encoded = System.nanoTime();
+                    ItemCodec.decode(data);
+                    decodeNanos += System.nanoTime() - encoded;
+                    encodeNanos += encoded - start;
+                    bytes += data.length;
+                }
+            }
+            double samples = (double) iterations * items.size();
+            results.add(new Result(codec, encodeNanos / samples / 1000.0, decodeNanos / samples / 1000.0, bytes / samples));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,108 @@
+package com.minekarta.playerauction.util;
+
+import com.minekarta.playerauction.config.ConfigManager;
+import com.minekarta.playerauction.config.MessageTemplate;
+import org.bukkit.ChatColor;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures rendering every message in messages.yml through its compiled {@link MessageTemplate} against
+ * looking it up and replacing and translating it on every send, as messages used to be rendered.
+ */
+public final class MessageBenchmark {
+
+    private MessageBenchmark() {}
+
+    /**
+     * @param bytesPerMessage Heap allocated per message, or -1 if the JVM cannot measure it.
+     */
+    public record Result(String name, double nanosPerMessage, double bytesPerMessage) {}
+
+    private record Sample(String path, MessageTemplate template, String[] replacements) {}
+
+    public static List<Result> run(ConfigManager configManager, int iterations) {
+        FileConfiguration messages = configManager.getMessages();
+        List<Sample> samples = new ArrayList<>();
+        for (Map.Entry<String, MessageTemplate> entry : configManager.getTemplates().entrySet()) {
+            List<String> placeholders = entry.getValue().getPlaceholders();
+            String[] replacements = new String[placeholders.size() * 2];
+            for (int i = 0; i < placeholders.size(); i++) {
+                replacements[i * 2] = placeholders.get(i);
+                replacements[i * 2 + 1] = "DIAMOND_SWORD";
+            }
+            samples.add(new Sample(entry.getKey(), entry.getValue(), replacements));
+        }
+        if (samples.isEmpty()) {
+            return List.of();
+        }
+        String prefix = messages.getString("prefix", "&7[&6KAH&7] ");
+        String translatedPrefix = ChatColor.translateAlternateColorCodes('&', prefix);
+
+        List<Result> results = new ArrayList<>();
+        results.add(measure("Replace and translate", samples, iterations,
+            sample -> ChatColor.translateAlternateColorCodes('&', prefix) + legacyRender(messages, sample.path(), sample.replacements())));
+        results.add(measure("Compiled template", samples, iterations,
+            sample -> sample.template().render(translatedPrefix, sample.replacements())));
+        return results;
+    }
+
+    /**
+     * The way messages were rendered before they were compiled.
+     */
+    private static String legacyRender(FileConfiguration messages, String path, String... replacements) {
+        String message = messages.getString(path, "&cMissing message: " + path);
+        for (int i = 0; i < replacements.length; i += 2) {
+            if (i + 1 < replacements.length) {
+                String placeholder = replacements[i];
+                String value = replacements[i + 1];
+                if (placeholder != null && value != null) {
+                    message = message.replace(placeholder, value);
+                }
+            }
+        }
+        return ChatColor.translateAlternateColorCodes('&', message);
+    }
+
+    private interface Renderer {
+        String render(Sample sample);
+    }
+
+    private static Result measure(String name, List<Sample> samples, int iterations, Renderer renderer) {
+        // Warm up so neither path pays for JIT
+        long sink = 0;
+        for (int i = 0; i < Math.max(1, iterations / 10); i++) {
+            for (Sample sample : samples) {
+                sink += renderer.render(sample).length();
+            }
+        }
+
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (Sample sample : samples) {
+                sink += renderer.render(sample).length();
+            }
+        }
+        long nanos = System.nanoTime() - start;
+        long allocatedAfter = allocatedBytes();
+
+        double count = (double) iterations * samples.size();
+        // Reading the sink keeps the JIT from dropping renders whose result is unused
+        double bytes = allocatedBefore < 0 || allocatedAfter < 0 || sink < 0 ? -1 : (allocatedAfter - allocatedBefore) / count;
+        return new Result(name, nanos / count, bytes);
+    }
+
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean hotspot && hotspot.isThreadAllocatedMemorySupported()) {
+            return hotspot.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
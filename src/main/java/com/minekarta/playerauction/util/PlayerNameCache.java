@@ -2,57 +2,137 @@ package com.minekarta.playerauction.util;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.minekarta.playerauction.storage.PlayerNameStorage;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
-public class PlayerNameCache {
+/**
+ * Resolves player names for display, e.g. the sellers on an auction page.
+ * <p>
+ * Names are looked up in memory, then in the persistent name index kept up to date from joins, and only
+ * for players missing from both through Bukkit's blocking offline player lookup, whose results are added to
+ * the index. GUIs resolve a whole page in one {@link #getNames} call before rendering and read the results
+ * with {@link #getCachedName}, so rendering never waits on a lookup.
+ */
+public class PlayerNameCache implements Listener {
 
     private final Cache<UUID, String> nameCache;
+    private final PlayerNameStorage nameStorage;
     private final Executor asyncExecutor;
 
-    public PlayerNameCache(Executor asyncExecutor) {
+    public PlayerNameCache(Executor asyncExecutor, PlayerNameStorage nameStorage, long maxNames) {
         this.asyncExecutor = asyncExecutor;
+        this.nameStorage = nameStorage;
         this.nameCache = CacheBuilder.newBuilder()
-            .maximumSize(1000)
+            .maximumSize(Math.max(0, maxNames))
             .expireAfterAccess(1, TimeUnit.HOURS)
             .build();
     }
 
     /**
      * Asynchronously gets the name of a player from a UUID.
-     * Tries the cache first, then looks up the offline player.
      *
      * @param uuid The UUID of the player.
      * @return A CompletableFuture that will complete with the player's name,
      *         or a shortened UUID if the name cannot be found.
      */
     public CompletableFuture<String> getName(@NotNull UUID uuid) {
-        String cachedName = nameCache.getIfPresent(uuid);
-        if (cachedName != null) {
-            return CompletableFuture.completedFuture(cachedName);
-        }
-
-        return CompletableFuture.supplyAsync(() -> {
-            // This can be a blocking operation, so it's run async
-            OfflinePlayer player = Bukkit.getOfflinePlayer(uuid);
-            String name = player.getName();
+        return getNames(List.of(uuid)).thenApply(names -> names.get(uuid));
+    }
 
-            if (name != null) {
-                nameCache.put(uuid, name);
-                return name;
+    /**
+     * Asynchronously gets the names of several players in one pass, e.g. every seller on a page.
+     *
+     * @param uuids The UUIDs of the players.
+     * @return A CompletableFuture that will complete with a name for every player, falling back to a
+     *         shortened UUID for players whose name cannot be found.
+     */
+    public CompletableFuture<Map<UUID, String>> getNames(@NotNull Collection<UUID> uuids) {
+        Map<UUID, String> names = new HashMap<>();
+        Set<UUID> missing = new LinkedHashSet<>();
+        for (UUID uuid : uuids) {
+            String cachedName = nameCache.getIfPresent(uuid);
+            if (cachedName != null) {
+                names.put(uuid, cachedName);
             } else {
-                // Fallback for players who have never joined or whose profiles can't be fetched
-                return uuid.toString().substring(0, 8);
+                missing.add(uuid);
+            }
+        }
+        if (missing.isEmpty()) {
+            return CompletableFuture.completedFuture(names);
+        }
+
+        return nameStorage.findNames(missing).thenApplyAsync(stored -> {
+            Map<UUID, String> resolved = new HashMap<>();
+            for (UUID uuid : missing) {
+                String name = stored.get(uuid);
+                if (name == null) {
+                    // Not indexed yet, e.g. players who last joined before the index existed; this can block
+                    OfflinePlayer player = Bukkit.getOfflinePlayer(uuid);
+                    name = player.getName();
+                    if (name != null) {
+                        resolved.put(uuid, name);
+                    }
+                }
+                if (name != null) {
+                    nameCache.put(uuid, name);
+                    names.put(uuid, name);
+                } else {
+                    // Fallback for players who have never joined or whose profiles can't be fetched
+                    names.put(uuid, shortId(uuid));
+                }
             }
+            nameStorage.saveNames(resolved).exceptionally(ex -> {
+                ex.printStackTrace();
+                return null;
+            });
+            return names;
         }, asyncExecutor);
     }
 
+    /**
+     * Gets a player's name without waiting, for render paths that resolved their names beforehand.
+     *
+     * @param uuid The UUID of the player.
+     * @return The player's name, or null if it is not in memory.
+     */
+    @Nullable
+    public String getCachedName(@NotNull UUID uuid) {
+        return nameCache.getIfPresent(uuid);
+    }
+
+    /**
+     * Gets a player's name without waiting, falling back to a shortened UUID and fetching the name in the
+     * background if it is not in memory.
+     *
+     * @param uuid The UUID of the player.
+     */
+    public String getCachedNameOrId(@NotNull UUID uuid) {
+        String name = nameCache.getIfPresent(uuid);
+        if (name == null) {
+            prefetchName(uuid);
+            return shortId(uuid);
+        }
+        return name;
+    }
+
     /**
      * Proactively fetches and caches a player's name.
      *
@@ -72,4 +152,22 @@ public class PlayerNameCache {
     public void invalidate(@NotNull UUID uuid) {
         nameCache.invalidate(uuid);
     }
+
+    @EventHandler
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        String previous = nameCache.getIfPresent(player.getUniqueId());
+        nameCache.put(player.getUniqueId(), player.getName());
+        if (!player.getName().equals(previous)) {
+            // Also records name changes; players whose name is already in memory were indexed before
+            nameStorage.saveNames(Map.of(player.getUniqueId(), player.getName())).exceptionally(ex -> {
+                ex.printStackTrace();
+                return null;
+            });
+        }
+    }
+
+    private static String shortId(UUID uuid) {
+        return uuid.toString().substring(0, 8);
+    }
 }